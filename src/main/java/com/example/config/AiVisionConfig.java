@@ -1,7 +1,8 @@
 package com.example.config;
 
+import com.example.service.TesseractEngine;
+import com.example.service.TesseractPool;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.Tesseract;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +11,9 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Slf4j
 @Configuration
@@ -21,30 +25,51 @@ public class AiVisionConfig {
     @Value("${ocr.tesseract.language}")
     private String tessLanguage;
 
+    @Value("${ocr.tesseract.allowed-languages:}")
+    private String[] allowedLanguages;
+
+    @Value("${warmup.ocr.languages:}")
+    private String[] warmupLanguages;
+
+    @Value("${ocr.tesseract.pool.size-per-language:2}")
+    private int poolSizePerLanguage;
+
+    @Value("${ocr.tesseract.pool.max-total:4}")
+    private int poolMaxTotal;
+
+    @Value("${ocr.tesseract.pool.borrow-timeout-ms:30000}")
+    private long poolBorrowTimeoutMillis;
+
     @Value("${file.upload.directory}")
     private String uploadDirectory;
 
-    @Bean
-    public Tesseract tesseract() {
-        Tesseract tesseract = new Tesseract();
-
-        // Tesseract 데이터 경로 설정
+    @Bean(destroyMethod = "close")
+    public TesseractPool tesseractPool() {
+        // Tesseract 데이터 경로 확인
         File tessDataDir = new File(tessDataPath);
-        if (tessDataDir.exists() && tessDataDir.isDirectory()) {
-            tesseract.setDatapath(tessDataPath);
+        boolean dataPathExists = tessDataDir.exists() && tessDataDir.isDirectory();
+        if (dataPathExists) {
             log.info("Tesseract data path set to: {}", tessDataPath);
         } else {
             log.warn("Tesseract data path not found: {}. Using system default.", tessDataPath);
         }
 
-        // 언어 설정
-        tesseract.setLanguage(tessLanguage);
-        log.info("Tesseract language set to: {}", tessLanguage);
+        // 허용 언어: 기본 언어 + 워밍업 언어 + 추가로 지정한 언어
+        Set<String> languages = new LinkedHashSet<>();
+        languages.add(tessLanguage.trim());
+        Arrays.stream(warmupLanguages).map(String::trim).filter(language -> !language.isEmpty()).forEach(languages::add);
+        Arrays.stream(allowedLanguages).map(String::trim).filter(language -> !language.isEmpty()).forEach(languages::add);
+
+        // 엔진마다 모델을 메모리에 유지하므로 언어·엔진 모드별 개수와 전체 개수를 함께 제한
+        int poolSize = Math.max(1, poolSizePerLanguage);
+        int maxTotal = Math.max(1, poolMaxTotal);
 
-        // OCR 엔진 모드 설정 (LSTM + Legacy)
-        tesseract.setOcrEngineMode(1);
+        log.info("Tesseract default language: {}, allowed languages: {} (pool size per language: {}, max total: {})",
+                tessLanguage, languages, poolSize, maxTotal);
 
-        return tesseract;
+        String dataPath = dataPathExists ? tessDataPath : null;
+        return new TesseractPool((language, ocrEngineMode) -> new TesseractEngine(dataPath, language, ocrEngineMode),
+                languages, poolSize, maxTotal, poolBorrowTimeoutMillis);
     }
 
     @Bean
@@ -0,0 +1,30 @@
+package com.example.config;
+
+import com.example.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 워밍업 상태 및 소요 시간 노출 (readiness 그룹에 포함)
+ *
+ * 실패 메시지에는 경로 등 내부 정보가 포함될 수 있으므로 실패한 단계 이름만 노출하고, 메시지는 시작 로그에 남긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmupService.isCompleted() ? Health.up() : Health.outOfService();
+
+        return builder
+                .withDetail("totalMillis", warmupService.getTotalMillis())
+                .withDetail("timings", warmupService.getTimings())
+                .withDetail("failedSteps", warmupService.getFailures().keySet())
+                .build();
+    }
+}
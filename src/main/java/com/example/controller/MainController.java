@@ -1,5 +1,7 @@
 package com.example.controller;
 
+import com.example.dto.OcrOptions;
+import com.example.dto.OcrResult;
 import com.example.service.OcrService;
 import com.example.service.VisionService;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +41,8 @@ public class MainController {
      */
     @PostMapping("/ocr/process")
     public String processOcr(@RequestParam("image") MultipartFile imageFile,
+                             @RequestParam(value = "tiered", defaultValue = "false") boolean tiered,
+                             @RequestParam(value = "language", required = false) String language,
                              Model model,
                              RedirectAttributes redirectAttributes) {
 
@@ -53,7 +57,18 @@ public class MainController {
         }
 
         try {
-            String extractedText = ocrService.extractTextFromImage(imageFile);
+            String extractedText;
+
+            if (tiered) {
+                OcrResult result = ocrService.extractTextTiered(imageFile, language);
+                extractedText = result.getText();
+                model.addAttribute("ocrTier", result.getTier());
+                model.addAttribute("ocrConfidence", String.format("%.1f", result.getMeanConfidence()));
+            } else {
+                OcrOptions options = OcrOptions.defaultOptions();
+                options.setLanguage(language);
+                extractedText = ocrService.extractTextFromImage(imageFile, options);
+            }
 
             model.addAttribute("extractedText", extractedText);
             model.addAttribute("fileName", imageFile.getOriginalFilename());
@@ -16,6 +16,7 @@ public class OcrOptions {
     private Integer pageSegMode;           // 페이지 세그멘테이션 모드
     private Integer ocrEngineMode;         // OCR 엔진 모드
     private Integer dpi;                   // DPI 설정
+    private String language;               // 인식 언어 (eng, kor, kor+eng 등. null 또는 "auto"면 자동 선택)
 
     @Builder.Default
     private boolean convertToGrayscale = false;     // 그레이스케일 변환
@@ -105,12 +106,26 @@ public class OcrOptions {
                 .build();
     }
 
+    /**
+     * 고정밀 한 줄 모드 (단계별 OCR에서 저신뢰 영역 재인식용)
+     */
+    public static OcrOptions highAccuracyLineMode() {
+        return OcrOptions.builder()
+                .ocrEngineMode(1)        // LSTM + Legacy
+                .pageSegMode(7)          // 한 줄 텍스트
+                .dpi(300)
+                .contrastFactor(1.4f)
+                .sharpen(true)
+                .build();
+    }
+
     /**
      * 빠른 처리 모드 (속도 우선, 정확도 타협)
+     *
+     * 엔진 모드는 기본값(LSTM)을 사용한다. Legacy 엔진(0)은 tessdata_fast/best 에 포함되지 않아 초기화에 실패한다.
      */
     public static OcrOptions fastMode() {
         return OcrOptions.builder()
-                .ocrEngineMode(0)        // Legacy 엔진 (빠름)
                 .pageSegMode(6)
                 .convertToGrayscale(true)
                 .enhanceContrast(false)
@@ -141,6 +156,34 @@ public class OcrOptions {
                 .build();
     }
 
+    /**
+     * 설정 파일 등에서 사용하는 프리셋 이름으로 옵션 조회
+     */
+    public static OcrOptions preset(String name) {
+        return switch (name.trim().toLowerCase()) {
+            case "default" -> defaultOptions();
+            case "document" -> documentMode();
+            case "single-block" -> singleTextBlockMode();
+            case "single-line" -> singleLineMode();
+            case "single-word" -> singleWordMode();
+            case "high-accuracy" -> highAccuracyMode();
+            case "high-accuracy-line" -> highAccuracyLineMode();
+            case "fast" -> fastMode();
+            case "numbers-only" -> numbersOnlyMode();
+            case "english-only" -> englishOnlyMode();
+            default -> throw new IllegalArgumentException("Unknown OCR preset: " + name);
+        };
+    }
+
+    /**
+     * 결과 저장소 키에 사용하는 옵션 식별 문자열 (결과에 영향을 주는 모든 값 포함)
+     */
+    public String fingerprint() {
+        return String.format("lang=%s;psm=%s;oem=%s;dpi=%s;gray=%b;contrast=%b;noise=%b;sharpen=%b;factor=%s;spaces=%b;whitelist=%s",
+                language != null ? language : "auto", pageSegMode, ocrEngineMode, dpi, convertToGrayscale, enhanceContrast, removeNoise, sharpen,
+                contrastFactor, preserveInterwordSpaces, charWhitelist);
+    }
+
     @Override
     public String toString() {
         return String.format("OcrOptions{pageSegMode=%d, ocrEngineMode=%d, dpi=%d, contrast=%.1f}",
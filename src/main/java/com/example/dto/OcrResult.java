@@ -0,0 +1,29 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 단계별 OCR 처리 결과
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcrResult {
+    private String text;                   // 추출된 텍스트
+    private float meanConfidence;          // 단어 평균 신뢰도 (0~100)
+    private Tier tier;                     // 결과를 낸 처리 단계
+
+    /**
+     * OCR 처리 단계
+     */
+    public enum Tier {
+        FAST,                   // 빠른 모드로 충분
+        FAST_WITH_REGIONS,      // 빠른 모드 + 저신뢰 영역만 고정밀 재인식
+        DOCUMENT,               // 문서 모드로 승격
+        HIGH_ACCURACY           // 고정밀 모드로 승격
+    }
+}
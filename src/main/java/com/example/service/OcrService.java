@@ -1,10 +1,11 @@
 package com.example.service;
 
 import com.example.dto.OcrOptions;
+import com.example.dto.OcrResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
+import net.sourceforge.tess4j.Word;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -15,14 +16,34 @@ import java.awt.image.BufferedImage;
 import java.awt.image.ConvolveOp;
 import java.awt.image.Kernel;
 import java.awt.image.RescaleOp;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
 @Service
 public class OcrService {
 
-    private final Tesseract tesseract;
+    private static final int REGION_PADDING = 4;
+    private static final String AUTO_LANGUAGE = "auto";
+    private static final String ENGLISH = "eng";
+
+    private final TesseractPool tesseractPool;
+    private final ScriptDetector scriptDetector;
+    private final ResultStore resultStore;
+
+    @Value("${ocr.tesseract.language}")
+    private String defaultLanguage;
+
+    @Value("${ocr.tesseract.data-path}")
+    private String tessDataPath;
+
+    @Value("${ocr.language-routing.enabled:true}")
+    private boolean languageRoutingEnabled;
 
     @Value("${ocr.tesseract.preprocessing.enabled:true}")
     private boolean preprocessingEnabled;
@@ -30,6 +51,24 @@ public class OcrService {
     @Value("${ocr.tesseract.preprocessing.resize-threshold:2000}")
     private int resizeThreshold;
 
+    @Value("${ocr.tiered.confidence-threshold:70}")
+    private float tieredConfidenceThreshold;
+
+    @Value("${ocr.tiered.region-escalation.enabled:true}")
+    private boolean regionEscalationEnabled;
+
+    @Value("${ocr.tiered.region-escalation.max-region-ratio:0.3}")
+    private double maxRegionRatio;
+
+    @Value("${ocr.tiered.fast-engine-mode:1}")
+    private int fastEngineMode;
+
+    /**
+     * 한 번의 인식 결과 (전처리된 이미지와 텍스트 라인 목록)
+     */
+    record RecognitionPass(BufferedImage processedImage, List<Word> lines) {
+    }
+
     /**
      * 기본 옵션으로 이미지에서 텍스트 추출
      */
@@ -48,29 +87,38 @@ public class OcrService {
         log.info("Starting OCR for file: {} (size: {} bytes)",
                 imageFile.getOriginalFilename(), imageFile.getSize());
 
-        try {
-            BufferedImage image = ImageIO.read(imageFile.getInputStream());
+        validateRequestedLanguage(options.getLanguage());
 
-            if (image == null) {
-                throw new IllegalArgumentException("Invalid image format");
-            }
+        // 키는 원본 바이트, 요청 옵션, 언어 선택 설정으로 만들어 저장된 결과는 디코딩·문자 체계 판단 없이 반환
+        byte[] imageBytes = imageFile.getBytes();
+        String resultKey = ResultStore.contentKey("ocr", imageBytes,
+                options.fingerprint() + ";" + engineFingerprint(options.getLanguage()));
 
-            log.info("Original image size: {}x{}", image.getWidth(), image.getHeight());
+        // 이전에 처리된 이미지는 저장된 결과 반환
+        Optional<String> storedText = resultStore.get(resultKey);
+        if (storedText.isPresent()) {
+            log.info("OCR result served from result store for file: {}", imageFile.getOriginalFilename());
+            return storedText.get();
+        }
 
-            // 이미지 전처리
-            BufferedImage processedImage = preprocessingEnabled ?
-                    preprocessImage(image, options) : image;
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
-            // 임시 Tesseract 설정 적용
-            applyTemporaryOptions(options);
+        if (image == null) {
+            throw new IllegalArgumentException("Invalid image format");
+        }
 
-            // OCR 수행
-            String extractedText = tesseract.doOCR(processedImage);
+        log.info("Original image size: {}x{}", image.getWidth(), image.getHeight());
 
-            log.info("OCR completed successfully. Extracted {} characters",
-                    extractedText != null ? extractedText.length() : 0);
+        try {
+            String language = resolveLanguage(image, options.getLanguage(), options.getCharWhitelist());
+            String result = extractText(image, options, language);
 
-            return extractedText != null ? extractedText.trim() : "";
+            // 텍스트가 없으면 인식 실패일 수 있으므로 저장하지 않고 다음 요청에서 다시 시도
+            if (!result.isEmpty()) {
+                resultStore.put(resultKey, result);
+            }
+
+            return result;
 
         } catch (TesseractException e) {
             log.error("OCR failed for file: {}", imageFile.getOriginalFilename(), e);
@@ -78,6 +126,34 @@ public class OcrService {
         }
     }
 
+    /**
+     * 디코딩된 이미지에서 텍스트 추출 (결과 저장소를 거치지 않음, 워밍업 등에서 사용)
+     */
+    public String extractText(BufferedImage image, OcrOptions options) throws TesseractException {
+        return extractText(image, options, resolveLanguage(image, options.getLanguage(), options.getCharWhitelist()));
+    }
+
+    private String extractText(BufferedImage image, OcrOptions options, String language) throws TesseractException {
+        // 이미지 전처리
+        BufferedImage processedImage = preprocessingEnabled ?
+                preprocessImage(image, options) : image;
+
+        TesseractEngine engine = tesseractPool.borrow(language, ocrEngineMode(options));
+
+        String extractedText;
+        try {
+            // OCR 수행 (요청 옵션은 엔진에서 기본값으로 되돌린 뒤 적용)
+            extractedText = engine.recognizeText(processedImage, options);
+        } finally {
+            tesseractPool.release(engine);
+        }
+
+        log.info("OCR completed successfully with language {}. Extracted {} characters",
+                language, extractedText != null ? extractedText.length() : 0);
+
+        return extractedText != null ? extractedText.trim() : "";
+    }
+
     /**
      * 문서 타입 최적화 OCR (스캔 문서용)
      */
@@ -106,6 +182,323 @@ public class OcrService {
         return extractTextFromImage(imageFile, OcrOptions.numbersOnlyMode());
     }
 
+    /**
+     * 단계별 OCR: 빠른 모드로 먼저 처리하고, 평균 신뢰도가 임계값 미만이면
+     * 저신뢰 영역만 재인식하거나 문서 모드 / 고정밀 모드로 승격
+     */
+    public OcrResult extractTextTiered(MultipartFile imageFile) throws IOException, TesseractException {
+        return extractTextTiered(imageFile, null);
+    }
+
+    /**
+     * 언어를 지정한 단계별 OCR (null 또는 "auto"면 자동 선택)
+     */
+    public OcrResult extractTextTiered(MultipartFile imageFile, String language) throws IOException, TesseractException {
+        if (imageFile.isEmpty()) {
+            throw new IllegalArgumentException("Image file is empty");
+        }
+
+        log.info("Starting tiered OCR for file: {} (size: {} bytes)",
+                imageFile.getOriginalFilename(), imageFile.getSize());
+
+        validateRequestedLanguage(language);
+
+        byte[] imageBytes = imageFile.getBytes();
+        String resultKey = ResultStore.contentKey("ocr-tiered", imageBytes,
+                String.format("threshold=%s;regions=%b;ratio=%s;fastOem=%d;%s",
+                        tieredConfidenceThreshold, regionEscalationEnabled, maxRegionRatio, fastEngineMode,
+                        engineFingerprint(language)));
+
+        Optional<OcrResult> storedResult = resultStore.get(resultKey).flatMap(this::decodeTieredResult);
+        if (storedResult.isPresent()) {
+            log.info("Tiered OCR result served from result store for file: {}", imageFile.getOriginalFilename());
+            return storedResult.get();
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        if (image == null) {
+            throw new IllegalArgumentException("Invalid image format");
+        }
+
+        try {
+            OcrResult result = recognizeTiered(image, resolveLanguage(image, language, null));
+
+            log.info("Tiered OCR completed with tier {} (confidence: {}). Extracted {} characters",
+                    result.getTier(), String.format("%.1f", result.getMeanConfidence()), result.getText().length());
+
+            // 텍스트가 없으면 인식 실패일 수 있으므로 저장하지 않고 다음 요청에서 다시 시도
+            if (!result.getText().isEmpty()) {
+                resultStore.put(resultKey, encodeTieredResult(result));
+            }
+            return result;
+
+        } catch (TesseractException e) {
+            log.error("Tiered OCR failed for file: {}", imageFile.getOriginalFilename(), e);
+            throw new TesseractException("OCR processing failed: " + e.getMessage());
+        }
+    }
+
+    OcrResult recognizeTiered(BufferedImage image, String language) throws TesseractException {
+        // 1단계: 빠른 모드 (실패하면 신뢰도가 낮은 것으로 보고 문서 모드로 승격)
+        RecognitionPass fastPass = null;
+        try {
+            fastPass = recognizeLines(image, fastPassOptions(), language);
+        } catch (TesseractException e) {
+            log.warn("Fast OCR pass failed, escalating to document mode: {}", e.getMessage());
+        }
+
+        if (fastPass != null) {
+            float fastConfidence = meanConfidence(fastPass.lines());
+            log.debug("Fast pass confidence: {}", fastConfidence);
+
+            if (fastConfidence >= tieredConfidenceThreshold) {
+                return toResult(fastPass.lines(), OcrResult.Tier.FAST);
+            }
+
+            // 2단계: 저신뢰 라인이 일부뿐이면 해당 영역만 고정밀 재인식
+            if (regionEscalationEnabled) {
+                try {
+                    List<Word> refinedLines = refineLowConfidenceLines(fastPass, language);
+                    if (refinedLines != null && meanConfidence(refinedLines) >= tieredConfidenceThreshold) {
+                        return toResult(refinedLines, OcrResult.Tier.FAST_WITH_REGIONS);
+                    }
+                } catch (TesseractException e) {
+                    log.warn("Region OCR pass failed, escalating to document mode: {}", e.getMessage());
+                }
+            }
+        }
+
+        // 3단계: 문서 모드
+        RecognitionPass documentPass = recognizeLines(image, OcrOptions.documentMode(), language);
+        float documentConfidence = meanConfidence(documentPass.lines());
+        log.debug("Document pass confidence: {}", documentConfidence);
+
+        if (documentConfidence >= tieredConfidenceThreshold) {
+            return toResult(documentPass.lines(), OcrResult.Tier.DOCUMENT);
+        }
+
+        // 4단계: 고정밀 모드 (문서 모드보다 나은 경우에만 채택, 실패하면 문서 모드 결과 사용)
+        RecognitionPass accuratePass;
+        try {
+            accuratePass = recognizeLines(image, OcrOptions.highAccuracyMode(), language);
+        } catch (TesseractException e) {
+            log.warn("High accuracy OCR pass failed, using document mode result: {}", e.getMessage());
+            return toResult(documentPass.lines(), OcrResult.Tier.DOCUMENT);
+        }
+        float accurateConfidence = meanConfidence(accuratePass.lines());
+        log.debug("High accuracy pass confidence: {}", accurateConfidence);
+
+        return accurateConfidence >= documentConfidence
+                ? toResult(accuratePass.lines(), OcrResult.Tier.HIGH_ACCURACY)
+                : toResult(documentPass.lines(), OcrResult.Tier.DOCUMENT);
+    }
+
+    /**
+     * 저신뢰 라인만 잘라 고정밀 한 줄 모드로 재인식. 저신뢰 라인이 너무 많으면 null
+     */
+    /**
+     * 단계별 OCR 1단계 옵션 (엔진 모드는 설정값 사용, 0(Legacy)은 해당 traineddata 가 있을 때만 가능)
+     */
+    OcrOptions fastPassOptions() {
+        OcrOptions options = OcrOptions.fastMode();
+        options.setOcrEngineMode(fastEngineMode);
+        return options;
+    }
+
+    private List<Word> refineLowConfidenceLines(RecognitionPass pass, String language) throws TesseractException {
+        List<Word> lines = pass.lines();
+        long lowConfidenceCount = lines.stream()
+                .filter(line -> line.getConfidence() < tieredConfidenceThreshold)
+                .count();
+
+        if (lines.isEmpty() || lowConfidenceCount > lines.size() * maxRegionRatio) {
+            return null;
+        }
+
+        BufferedImage source = pass.processedImage();
+        List<Word> refined = new ArrayList<>(lines.size());
+
+        for (Word line : lines) {
+            if (line.getConfidence() >= tieredConfidenceThreshold) {
+                refined.add(line);
+                continue;
+            }
+
+            Rectangle box = new Rectangle(line.getBoundingBox());
+            box.grow(REGION_PADDING, REGION_PADDING);
+            box = box.intersection(new Rectangle(0, 0, source.getWidth(), source.getHeight()));
+
+            if (box.isEmpty()) {
+                refined.add(line);
+                continue;
+            }
+
+            List<Word> regionLines = recognizeLines(source.getSubimage(box.x, box.y, box.width, box.height),
+                    OcrOptions.highAccuracyLineMode(), language).lines();
+            float regionConfidence = meanConfidence(regionLines);
+
+            if (regionConfidence > line.getConfidence()) {
+                refined.add(new Word(joinLines(regionLines), regionConfidence, line.getBoundingBox()));
+            } else {
+                refined.add(line);
+            }
+        }
+
+        return refined;
+    }
+
+    /**
+     * 전처리 후 텍스트 라인 단위로 인식 (라인별 신뢰도 포함)
+     */
+    RecognitionPass recognizeLines(BufferedImage image, OcrOptions options, String language) throws TesseractException {
+        BufferedImage processedImage = preprocessingEnabled ?
+                preprocessImage(image, options) : image;
+
+        TesseractEngine engine = tesseractPool.borrow(language, ocrEngineMode(options));
+
+        List<Word> lines;
+        try {
+            lines = engine.recognizeLines(processedImage, options);
+        } finally {
+            tesseractPool.release(engine);
+        }
+
+        return new RecognitionPass(processedImage, lines);
+    }
+
+    /**
+     * 단어 수로 가중한 라인 신뢰도 평균
+     */
+    float meanConfidence(List<Word> lines) {
+        long totalWords = 0;
+        double weightedSum = 0;
+
+        for (Word line : lines) {
+            String text = line.getText() != null ? line.getText().trim() : "";
+            if (text.isEmpty()) {
+                continue;
+            }
+            int wordCount = text.split("\\s+").length;
+            totalWords += wordCount;
+            weightedSum += (double) line.getConfidence() * wordCount;
+        }
+
+        return totalWords == 0 ? 0f : (float) (weightedSum / totalWords);
+    }
+
+    private String joinLines(List<Word> lines) {
+        return lines.stream()
+                .map(line -> line.getText() != null ? line.getText().trim() : "")
+                .filter(text -> !text.isEmpty())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private OcrResult toResult(List<Word> lines, OcrResult.Tier tier) {
+        return OcrResult.builder()
+                .text(joinLines(lines))
+                .meanConfidence(meanConfidence(lines))
+                .tier(tier)
+                .build();
+    }
+
+    /**
+     * 결과 저장소 형식: 첫 줄 "단계\t신뢰도", 이후 텍스트
+     */
+    String encodeTieredResult(OcrResult result) {
+        return result.getTier() + "\t" + result.getMeanConfidence() + "\n" + result.getText();
+    }
+
+    /**
+     * 저장된 결과 복원. 형식이 맞지 않으면(이전 버전 형식, 손상된 레코드) 저장되지 않은 것으로 처리
+     */
+    Optional<OcrResult> decodeTieredResult(String stored) {
+        int headerEnd = stored.indexOf('\n');
+        if (headerEnd < 0) {
+            log.warn("Ignoring malformed tiered OCR result in result store");
+            return Optional.empty();
+        }
+
+        String[] fields = stored.substring(0, headerEnd).split("\t");
+        try {
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("Expected 2 header fields but found " + fields.length);
+            }
+
+            return Optional.of(OcrResult.builder()
+                    .tier(OcrResult.Tier.valueOf(fields[0]))
+                    .meanConfidence(Float.parseFloat(fields[1]))
+                    .text(stored.substring(headerEnd + 1))
+                    .build());
+
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException 포함
+            log.warn("Ignoring malformed tiered OCR result in result store: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 인식 언어 결정
+     *
+     * 요청에 언어가 지정되면 허용 언어인지 확인해 사용하고, 허용 문자가 ASCII뿐이면 eng,
+     * 그 외에는 라틴 문자만 있다고 확실할 때만 eng 로 보내고 나머지는 기본 언어(kor+eng)로 처리
+     */
+    private String resolveLanguage(BufferedImage image, String requestedLanguage, String charWhitelist) {
+        if (!isAutoLanguage(requestedLanguage)) {
+            validateRequestedLanguage(requestedLanguage);
+            return requestedLanguage.trim();
+        }
+
+        boolean englishAllowed = tesseractPool.isAllowedLanguage(ENGLISH);
+
+        if (englishAllowed && charWhitelist != null && !charWhitelist.isEmpty()
+                && charWhitelist.chars().allMatch(c -> c < 128)) {
+            return ENGLISH;
+        }
+
+        if (!languageRoutingEnabled || !englishAllowed) {
+            return defaultLanguage;
+        }
+
+        String language = scriptDetector.detect(image) == ScriptDetector.Script.LATIN ? ENGLISH : defaultLanguage;
+
+        log.debug("Routed OCR language: {}", language);
+        return language;
+    }
+
+    /**
+     * 요청에 지정된 언어가 허용 목록에 있는지 확인 (자동 선택은 통과)
+     */
+    private void validateRequestedLanguage(String requestedLanguage) {
+        if (!isAutoLanguage(requestedLanguage) && !tesseractPool.isAllowedLanguage(requestedLanguage.trim())) {
+            throw new IllegalArgumentException("Unsupported OCR language: " + requestedLanguage
+                    + " (allowed: " + String.join(", ", tesseractPool.getAllowedLanguages()) + ")");
+        }
+    }
+
+    private int ocrEngineMode(OcrOptions options) {
+        return options.getOcrEngineMode() != null ?
+                options.getOcrEngineMode() : TesseractEngine.DEFAULT_OCR_ENGINE_MODE;
+    }
+
+    /**
+     * 결과 저장소 키에 포함할 엔진 설정 (설정이 바뀌면 저장된 결과를 재사용하지 않음)
+     */
+    private String engineFingerprint(String requestedLanguage) {
+        // 자동 선택이면 선택 결과를 바꿀 수 있는 설정(기본 언어, 라우팅 설정)을 대신 포함
+        String language = isAutoLanguage(requestedLanguage)
+                ? String.format("auto;defaultLang=%s;routing=%b;engAllowed=%b;%s", defaultLanguage,
+                        languageRoutingEnabled, tesseractPool.isAllowedLanguage(ENGLISH), scriptDetector.fingerprint())
+                : requestedLanguage.trim();
+
+        return String.format("lang=%s;dataPath=%s;preprocessing=%b;resize=%d",
+                language, tessDataPath, preprocessingEnabled, resizeThreshold);
+    }
+
+    private boolean isAutoLanguage(String language) {
+        return language == null || language.isBlank() || AUTO_LANGUAGE.equalsIgnoreCase(language.trim());
+    }
+
     /**
      * 이미지 전처리
      */
@@ -147,36 +540,6 @@ public class OcrService {
         return processedImage;
     }
 
-    /**
-     * 임시 Tesseract 옵션 적용
-     */
-    private void applyTemporaryOptions(OcrOptions options) {
-        try {
-            if (options.getPageSegMode() != null) {
-                tesseract.setPageSegMode(options.getPageSegMode());
-            }
-
-            if (options.getOcrEngineMode() != null) {
-                tesseract.setOcrEngineMode(options.getOcrEngineMode());
-            }
-
-            if (options.getDpi() != null) {
-                tesseract.setTessVariable("user_defined_dpi", String.valueOf(options.getDpi()));
-            }
-
-            if (options.isPreserveInterwordSpaces()) {
-                tesseract.setTessVariable("preserve_interword_spaces", "1");
-            }
-
-            if (options.getCharWhitelist() != null && !options.getCharWhitelist().isEmpty()) {
-                tesseract.setTessVariable("tessedit_char_whitelist", options.getCharWhitelist());
-            }
-
-        } catch (Exception e) {
-            log.warn("Failed to apply some OCR options: {}", e.getMessage());
-        }
-    }
-
     // 이미지 처리 유틸리티 메소드들
     private BufferedImage deepCopy(BufferedImage original) {
         BufferedImage copy = new BufferedImage(original.getWidth(), original.getHeight(), original.getType());
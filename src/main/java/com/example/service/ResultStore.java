@@ -0,0 +1,386 @@
+package com.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * OCR / 이미지 분석 결과를 디스크에 저장하는 append-only 결과 로그
+ *
+ * 결과는 세그먼트 파일(segment-N.log)에 순차적으로 기록되고, 메모리 인덱스는
+ * 이미지 내용 해시 기반 키로 레코드 위치를 가리킨다. JVM 재시작 시 세그먼트를
+ * 다시 읽어 인덱스를 복원하므로, 대량 배치 작업을 다시 실행하면 이미 처리된
+ * 이미지는 재계산 없이 디스크에서 바로 반환된다.
+ *
+ * 레코드 형식: [keyLength:int][valueLength:int][crc32:int][key][value]
+ */
+@Slf4j
+@Service
+public class ResultStore {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = Integer.BYTES * 3;
+
+    @Value("${result-store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${result-store.directory:./data/result-store}")
+    private String directory;
+
+    @Value("${result-store.segment-max-bytes:16777216}")
+    private long segmentMaxBytes;
+
+    @Value("${result-store.compaction.live-ratio-threshold:0.5}")
+    private double compactionLiveRatioThreshold;
+
+    private final Map<String, RecordLocation> index = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    private Path storePath;
+    private volatile long activeSegmentId;
+    private FileChannel activeChannel;
+
+    /**
+     * 레코드 위치 (세그먼트 번호, 레코드 시작 오프셋, 레코드 전체 길이)
+     */
+    private record RecordLocation(long segmentId, long offset, int length) {
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어 인덱스 복원
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            log.info("Result store disabled");
+            return;
+        }
+
+        storePath = Paths.get(directory);
+        Files.createDirectories(storePath);
+
+        List<Long> segmentIds = listSegmentIds();
+        for (int i = 0; i < segmentIds.size(); i++) {
+            boolean last = i == segmentIds.size() - 1;
+            loadSegment(segmentIds.get(i), last);
+        }
+
+        activeSegmentId = segmentIds.isEmpty() ? 0 : segmentIds.get(segmentIds.size() - 1);
+        activeChannel = openForAppend(activeSegmentId);
+
+        log.info("Result store opened at {} ({} entries, {} segments)",
+                storePath, index.size(), Math.max(segmentIds.size(), 1));
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            if (activeChannel == null) {
+                return;
+            }
+            try {
+                activeChannel.force(true);
+                activeChannel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close result store segment: {}", e.getMessage());
+            }
+            activeChannel = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 이미지 내용과 처리 조건으로 저장 키 생성
+     */
+    public static String contentKey(String namespace, byte[] content, String variant) {
+        return namespace + ":" + sha256(content) + ":" + sha256(variant.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 저장된 결과 조회
+     */
+    public Optional<String> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        RecordLocation location = index.get(key);
+        if (location == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(readValue(location));
+        } catch (IOException e) {
+            // 컴팩션으로 세그먼트가 교체된 경우 등은 캐시 미스로 처리
+            log.debug("Failed to read result for key {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 결과 저장 (같은 키가 있으면 새 레코드가 이전 레코드를 대체)
+     */
+    public void put(String key, String value) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            synchronized (writeLock) {
+                index.put(key, append(key, value.getBytes(StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to persist result for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 살아있는 레코드 비율이 낮은 봉인 세그먼트를 활성 세그먼트로 옮긴 뒤 삭제
+     */
+    @Scheduled(fixedDelayString = "${result-store.compaction.interval-ms:600000}",
+            initialDelayString = "${result-store.compaction.interval-ms:600000}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<Long, Long> liveBytes = new HashMap<>();
+        index.values().forEach(location ->
+                liveBytes.merge(location.segmentId(), (long) location.length(), Long::sum));
+
+        try {
+            for (Long segmentId : listSegmentIds()) {
+                if (segmentId >= activeSegmentId) {
+                    continue;
+                }
+
+                long totalBytes = Files.size(segmentPath(segmentId));
+                long live = liveBytes.getOrDefault(segmentId, 0L);
+                if (totalBytes > 0 && (double) live / totalBytes >= compactionLiveRatioThreshold) {
+                    continue;
+                }
+
+                compactSegment(segmentId);
+                log.info("Compacted result segment {} ({} of {} bytes live)", segmentId, live, totalBytes);
+            }
+        } catch (IOException e) {
+            log.warn("Result store compaction failed: {}", e.getMessage());
+        }
+    }
+
+    private void compactSegment(long segmentId) throws IOException {
+        List<Map.Entry<String, RecordLocation>> liveRecords = new ArrayList<>();
+        index.forEach((key, location) -> {
+            if (location.segmentId() == segmentId) {
+                liveRecords.add(Map.entry(key, location));
+            }
+        });
+
+        for (Map.Entry<String, RecordLocation> entry : liveRecords) {
+            String key = entry.getKey();
+            RecordLocation location = entry.getValue();
+
+            String value;
+            try {
+                value = readValue(location);
+            } catch (IOException e) {
+                // 읽을 수 없는 레코드는 세그먼트와 함께 버리고 인덱스에서도 제거
+                log.warn("Dropping unreadable result for key {}: {}", key, e.getMessage());
+                index.remove(key, location);
+                continue;
+            }
+
+            synchronized (writeLock) {
+                // 읽는 동안 새 결과가 기록되었다면 옛 값을 다시 쓰지 않음 (재시작 시 옛 값이 이기지 않도록)
+                if (location.equals(index.get(key))) {
+                    index.put(key, append(key, value.getBytes(StandardCharsets.UTF_8)));
+                }
+            }
+        }
+
+        synchronized (writeLock) {
+            if (activeChannel != null) {
+                activeChannel.force(false);
+            }
+        }
+        Files.deleteIfExists(segmentPath(segmentId));
+    }
+
+    private String readValue(RecordLocation location) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(location.segmentId()), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length());
+            readFully(channel, buffer, location.offset());
+            buffer.flip();
+
+            int keyLength = buffer.getInt();
+            int valueLength = buffer.getInt();
+            buffer.getInt();
+            buffer.position(buffer.position() + keyLength);
+
+            byte[] value = new byte[valueLength];
+            buffer.get(value);
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * 활성 세그먼트에 레코드 추가 (writeLock 보유 상태에서 호출)
+     */
+    private RecordLocation append(String key, byte[] value) throws IOException {
+        if (activeChannel == null) {
+            throw new IOException("Result store is closed");
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(keyBytes);
+        crc.update(value);
+
+        int length = HEADER_SIZE + keyBytes.length + value.length;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(keyBytes.length);
+        buffer.putInt(value.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(keyBytes);
+        buffer.put(value);
+        buffer.flip();
+
+        long offset = activeChannel.size();
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer, offset + buffer.position());
+        }
+        RecordLocation location = new RecordLocation(activeSegmentId, offset, length);
+
+        if (offset + length >= segmentMaxBytes) {
+            rollSegment();
+        }
+
+        return location;
+    }
+
+    private void rollSegment() throws IOException {
+        activeChannel.force(true);
+        activeChannel.close();
+        activeSegmentId++;
+        activeChannel = openForAppend(activeSegmentId);
+        log.debug("Rolled result store to segment {}", activeSegmentId);
+    }
+
+    /**
+     * 세그먼트를 읽어 인덱스에 반영. 마지막 세그먼트의 깨진 꼬리 레코드는 잘라낸다.
+     */
+    private void loadSegment(long segmentId, boolean last) throws IOException {
+        Path path = segmentPath(segmentId);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long offset = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+            while (offset + HEADER_SIZE <= size) {
+                header.clear();
+                readFully(channel, header, offset);
+                header.flip();
+
+                int keyLength = header.getInt();
+                int valueLength = header.getInt();
+                int checksum = header.getInt();
+
+                long recordLength = (long) HEADER_SIZE + keyLength + valueLength;
+                if (keyLength < 0 || valueLength < 0 || offset + recordLength > size) {
+                    break;
+                }
+
+                ByteBuffer body = ByteBuffer.allocate(keyLength + valueLength);
+                readFully(channel, body, offset + HEADER_SIZE);
+
+                CRC32 crc = new CRC32();
+                crc.update(body.array());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                String key = new String(body.array(), 0, keyLength, StandardCharsets.UTF_8);
+                index.put(key, new RecordLocation(segmentId, offset, (int) recordLength));
+                offset += recordLength;
+            }
+
+            if (offset < size) {
+                log.warn("Result segment {} has {} unreadable trailing bytes", segmentId, size - offset);
+                if (last) {
+                    channel.truncate(offset);
+                }
+            }
+        }
+    }
+
+    private List<Long> listSegmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(storePath)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))
+                    .filter(id -> id.chars().allMatch(Character::isDigit) && !id.isEmpty())
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segmentId) {
+        return storePath.resolve(SEGMENT_PREFIX + segmentId + SEGMENT_SUFFIX);
+    }
+
+    private FileChannel openForAppend(long segmentId) throws IOException {
+        return FileChannel.open(segmentPath(segmentId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of segment");
+            }
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 축소 이미지의 글리프 통계로 문자 체계(한글 / 라틴) 추정
+ *
+ * 한글 음절은 초성·중성·종성 자모가 위아래로 쌓인 여러 연결 요소로 이루어지는 반면,
+ * 라틴 문자는 대부분 하나의 연결 요소이고 위아래로 쌓이는 경우가 i, j의 점 정도이다.
+ * 비슷한 크기의 연결 요소가 좁은 간격으로 위아래로 붙어 있는 글리프를 한글 신호로 사용한다.
+ *
+ * 한글을 eng 로 잘못 보내면 글자가 통째로 사라지므로, 쌓인 글리프가 거의 없는 경우에만 LATIN 으로
+ * 판단하고 나머지(한글 신호, 판단 불가)는 모두 기본 언어로 처리되도록 한다.
+ * 축소 후 글자가 너무 작으면 자모 사이 간격이 뭉개져 한글 신호가 사라지므로 UNKNOWN 으로 본다.
+ * 영문 문서에 짧은 한글 단어 하나만 섞인 경우는 자모가 한 덩어리로 렌더링되면 구분하지 못하므로,
+ * 그런 이미지는 요청에 language 를 지정해야 한다.
+ */
+@Slf4j
+@Component
+public class ScriptDetector {
+
+    private static final int MAX_COMPONENTS = 5000;
+
+    @Value("${ocr.language-routing.sample-size:2000}")
+    private int sampleSize;
+
+    @Value("${ocr.language-routing.min-components:20}")
+    private int minComponents;
+
+    @Value("${ocr.language-routing.min-glyph-height:10}")
+    private int minGlyphHeight;
+
+    @Value("${ocr.language-routing.latin-max-stacked-ratio:0.02}")
+    private double latinMaxStackedRatio;
+
+    @Value("${ocr.language-routing.latin-max-stacked-glyphs:3}")
+    private int latinMaxStackedGlyphs;
+
+    /**
+     * 추정된 문자 체계
+     */
+    public enum Script {
+        LATIN,      // 라틴 문자만 있음 (쌓인 글리프가 거의 없음)
+        HANGUL,     // 한글 포함 (한글만 있거나 라틴과 혼합)
+        UNKNOWN     // 판단 불가 (글리프 부족, 글자가 너무 작음)
+    }
+
+    /**
+     * 연결 요소의 경계 상자
+     */
+    private record Glyph(int minX, int minY, int maxX, int maxY, int area) {
+        int width() {
+            return maxX - minX + 1;
+        }
+
+        int height() {
+            return maxY - minY + 1;
+        }
+    }
+
+    public Script detect(BufferedImage image) {
+        long start = System.nanoTime();
+
+        BufferedImage sample = downsample(image);
+        int width = sample.getWidth();
+        int height = sample.getHeight();
+
+        boolean[] ink = binarize(sample.getRaster().getPixels(0, 0, width, height, (int[]) null));
+        List<Glyph> glyphs = findGlyphs(ink, width, height);
+
+        Script script = classify(glyphs);
+
+        log.debug("Script detection: {} ({} glyphs, {} ms)", script, glyphs.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return script;
+    }
+
+    /**
+     * 판단 결과에 영향을 주는 설정 (결과 저장소 키에 사용)
+     */
+    public String fingerprint() {
+        return String.format("sample=%d;components=%d;glyphHeight=%d;latinRatio=%s;latinGlyphs=%d",
+                sampleSize, minComponents, minGlyphHeight, latinMaxStackedRatio, latinMaxStackedGlyphs);
+    }
+
+    private Script classify(List<Glyph> glyphs) {
+        if (glyphs.size() < minComponents) {
+            return Script.UNKNOWN;
+        }
+
+        int[] heights = glyphs.stream().mapToInt(Glyph::height).sorted().toArray();
+        int medianHeight = heights[heights.length / 2];
+        if (medianHeight < minGlyphHeight) {
+            log.debug("Glyphs too small for script detection (median height: {}px)", medianHeight);
+            return Script.UNKNOWN;
+        }
+
+        // 점, 쉼표, 가로획처럼 납작한 요소는 제외
+        List<Glyph> eligible = glyphs.stream()
+                .filter(glyph -> glyph.height() >= medianHeight * 0.25)
+                .sorted(Comparator.comparingInt(Glyph::minX))
+                .toList();
+
+        if (eligible.size() < minComponents) {
+            return Script.UNKNOWN;
+        }
+
+        boolean[] stacked = new boolean[eligible.size()];
+        for (int i = 0; i < eligible.size(); i++) {
+            Glyph a = eligible.get(i);
+            for (int j = i + 1; j < eligible.size() && eligible.get(j).minX() <= a.maxX(); j++) {
+                Glyph b = eligible.get(j);
+                if (isStackedPair(a, b)) {
+                    stacked[i] = true;
+                    stacked[j] = true;
+                }
+            }
+        }
+
+        int stackedCount = 0;
+        for (boolean value : stacked) {
+            if (value) {
+                stackedCount++;
+            }
+        }
+
+        double ratio = (double) stackedCount / eligible.size();
+        log.debug("Stacked glyphs: {} / {} ({})", stackedCount, eligible.size(), String.format("%.3f", ratio));
+
+        // 짧은 한글 단어 하나도 놓치지 않도록 비율과 개수 모두 기준 이하일 때만 LATIN
+        if (ratio <= latinMaxStackedRatio && stackedCount <= latinMaxStackedGlyphs) {
+            return Script.LATIN;
+        }
+        return Script.HANGUL;
+    }
+
+    /**
+     * 가로로 겹치고, 세로로 좁은 간격을 두고 쌓인 비슷한 크기의 두 요소인지 확인
+     */
+    private boolean isStackedPair(Glyph a, Glyph b) {
+        int overlap = Math.min(a.maxX(), b.maxX()) - Math.max(a.minX(), b.minX()) + 1;
+        if (overlap < Math.min(a.width(), b.width()) * 0.5) {
+            return false;
+        }
+
+        Glyph upper = a.minY() <= b.minY() ? a : b;
+        Glyph lower = upper == a ? b : a;
+        int gap = lower.minY() - upper.maxY() - 1;
+        int maxHeight = Math.max(a.height(), b.height());
+        if (gap < 0 || gap > maxHeight * 0.25) {
+            return false;
+        }
+
+        double heightRatio = (double) Math.min(a.height(), b.height()) / maxHeight;
+        double widthRatio = (double) Math.min(a.width(), b.width()) / Math.max(a.width(), b.width());
+        return heightRatio >= 0.3 && widthRatio >= 0.4;
+    }
+
+    /**
+     * 최대 sampleSize 로 축소. 한 번에 크게 줄이면 쌍선형 보간이 일부 픽셀만 참조해 가는 획과
+     * 자모 사이 간격이 무작위로 사라지므로, 절반씩 단계적으로 줄인다.
+     */
+    private BufferedImage downsample(BufferedImage image) {
+        double scale = Math.min(1.0, (double) sampleSize / Math.max(image.getWidth(), image.getHeight()));
+        int targetWidth = Math.max(1, (int) (image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) (image.getHeight() * scale));
+
+        BufferedImage current = resize(image, image.getWidth(), image.getHeight());
+        while (current.getWidth() / 2 >= targetWidth && current.getHeight() / 2 >= targetHeight) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            current = resize(current, targetWidth, targetHeight);
+        }
+        return current;
+    }
+
+    private BufferedImage resize(BufferedImage image, int width, int height) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g2d = resized.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+        return resized;
+    }
+
+    /**
+     * Otsu 임계값으로 이진화. 어두운 픽셀이 절반을 넘으면 밝은 글자로 보고 반전
+     */
+    private boolean[] binarize(int[] pixels) {
+        int[] histogram = new int[256];
+        for (int pixel : pixels) {
+            histogram[pixel]++;
+        }
+
+        long total = pixels.length;
+        long sum = 0;
+        for (int i = 0; i < 256; i++) {
+            sum += (long) i * histogram[i];
+        }
+
+        long backgroundSum = 0;
+        long backgroundCount = 0;
+        double bestVariance = -1;
+        int threshold = 128;
+
+        for (int i = 0; i < 256; i++) {
+            backgroundCount += histogram[i];
+            if (backgroundCount == 0) {
+                continue;
+            }
+            long foregroundCount = total - backgroundCount;
+            if (foregroundCount == 0) {
+                break;
+            }
+
+            backgroundSum += (long) i * histogram[i];
+            double backgroundMean = (double) backgroundSum / backgroundCount;
+            double foregroundMean = (double) (sum - backgroundSum) / foregroundCount;
+            double variance = (double) backgroundCount * foregroundCount
+                    * (backgroundMean - foregroundMean) * (backgroundMean - foregroundMean);
+
+            if (variance > bestVariance) {
+                bestVariance = variance;
+                threshold = i;
+            }
+        }
+
+        boolean[] ink = new boolean[pixels.length];
+        int inkCount = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            ink[i] = pixels[i] <= threshold;
+            if (ink[i]) {
+                inkCount++;
+            }
+        }
+
+        if (inkCount > pixels.length / 2) {
+            for (int i = 0; i < ink.length; i++) {
+                ink[i] = !ink[i];
+            }
+        }
+        return ink;
+    }
+
+    /**
+     * 8-연결 요소 탐색 (너무 작거나 큰 요소, 가장자리에 닿은 요소는 제외)
+     */
+    private List<Glyph> findGlyphs(boolean[] ink, int width, int height) {
+        List<Glyph> glyphs = new ArrayList<>();
+        boolean[] visited = new boolean[ink.length];
+        int[] stack = new int[64];
+
+        for (int start = 0; start < ink.length && glyphs.size() < MAX_COMPONENTS; start++) {
+            if (!ink[start] || visited[start]) {
+                continue;
+            }
+
+            int minX = width, minY = height, maxX = -1, maxY = -1, area = 0;
+            int size = 0;
+            stack[size++] = start;
+            visited[start] = true;
+
+            while (size > 0) {
+                int index = stack[--size];
+                int x = index % width;
+                int y = index / width;
+
+                area++;
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+
+                for (int dy = -1; dy <= 1; dy++) {
+                    int ny = y + dy;
+                    if (ny < 0 || ny >= height) {
+                        continue;
+                    }
+                    for (int dx = -1; dx <= 1; dx++) {
+                        int nx = x + dx;
+                        if (nx < 0 || nx >= width) {
+                            continue;
+                        }
+                        int neighbor = ny * width + nx;
+                        if (ink[neighbor] && !visited[neighbor]) {
+                            visited[neighbor] = true;
+                            if (size == stack.length) {
+                                stack = Arrays.copyOf(stack, size * 2);
+                            }
+                            stack[size++] = neighbor;
+                        }
+                    }
+                }
+            }
+
+            // 가장자리에 닿은 요소는 잘린 글자일 수 있으므로 제외 (잘린 조각이 쌓인 글리프로 보이는 것 방지)
+            Glyph glyph = new Glyph(minX, minY, maxX, maxY, area);
+            boolean touchesBorder = minX == 0 || minY == 0 || maxX == width - 1 || maxY == height - 1;
+            if (area >= 3 && glyph.height() >= 3 && !touchesBorder
+                    && glyph.width() <= width / 2) {
+                glyphs.add(glyph);
+            }
+        }
+
+        return glyphs;
+    }
+}
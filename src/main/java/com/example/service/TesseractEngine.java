@@ -0,0 +1,181 @@
+package com.example.service;
+
+import com.example.dto.OcrOptions;
+import com.sun.jna.Pointer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.ITessAPI;
+import net.sourceforge.tess4j.TessAPI;
+import net.sourceforge.tess4j.TesseractException;
+import net.sourceforge.tess4j.Word;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 언어·엔진 모드별로 한 번만 초기화해 재사용하는 Tesseract 핸들
+ *
+ * Tess4J의 Tesseract 클래스는 doOCR/getWords 호출마다 TessBaseAPIInit(traineddata 로딩)과
+ * TessBaseAPIEnd를 반복하므로, TessBaseAPI 핸들을 직접 유지해 모델을 메모리에 남겨 둔다.
+ * 스레드 안전하지 않으므로 TesseractPool을 통해 한 번에 한 요청만 사용한다.
+ */
+@Slf4j
+public class TesseractEngine implements AutoCloseable {
+
+    public static final int DEFAULT_PAGE_SEG_MODE = 3;
+    public static final int DEFAULT_OCR_ENGINE_MODE = 1;
+
+    private final TessAPI api;
+    private final ITessAPI.TessBaseAPI handle;
+
+    @Getter
+    private final String language;
+
+    @Getter
+    private final int ocrEngineMode;
+
+    public TesseractEngine(String dataPath, String language, int ocrEngineMode) throws TesseractException {
+        this.api = TessAPI.INSTANCE;
+        this.language = language;
+        this.ocrEngineMode = ocrEngineMode;
+        this.handle = api.TessBaseAPICreate();
+
+        // 0이 아니면 traineddata 를 찾지 못했거나 로딩에 실패한 것
+        if (api.TessBaseAPIInit2(handle, dataPath, language, ocrEngineMode) != 0) {
+            api.TessBaseAPIDelete(handle);
+            throw new TesseractException("Failed to initialize Tesseract (language: " + language
+                    + ", engine mode: " + ocrEngineMode + ")");
+        }
+
+        log.debug("Initialized Tesseract engine (language: {}, engine mode: {})", language, ocrEngineMode);
+    }
+
+    /**
+     * 전체 텍스트 인식
+     */
+    public String recognizeText(BufferedImage image, OcrOptions options) throws TesseractException {
+        try {
+            recognize(image, options);
+
+            Pointer text = api.TessBaseAPIGetUTF8Text(handle);
+            if (text == null) {
+                throw new TesseractException("Tesseract returned no text");
+            }
+            try {
+                return text.getString(0, "UTF-8");
+            } finally {
+                api.TessDeleteText(text);
+            }
+        } finally {
+            api.TessBaseAPIClear(handle);
+        }
+    }
+
+    /**
+     * 텍스트 라인 단위 인식 (라인별 신뢰도와 경계 상자 포함)
+     */
+    public List<Word> recognizeLines(BufferedImage image, OcrOptions options) throws TesseractException {
+        int level = ITessAPI.TessPageIteratorLevel.RIL_TEXTLINE;
+        List<Word> lines = new ArrayList<>();
+
+        try {
+            recognize(image, options);
+
+            ITessAPI.TessResultIterator iterator = api.TessBaseAPIGetIterator(handle);
+            if (iterator == null) {
+                // 인식은 성공했지만 페이지에 텍스트가 없음
+                return lines;
+            }
+
+            try {
+                ITessAPI.TessPageIterator pageIterator = api.TessResultIteratorGetPageIterator(iterator);
+                api.TessPageIteratorBegin(pageIterator);
+
+                do {
+                    Pointer text = api.TessResultIteratorGetUTF8Text(iterator, level);
+                    if (text == null) {
+                        continue;
+                    }
+                    String lineText;
+                    try {
+                        lineText = text.getString(0, "UTF-8");
+                    } finally {
+                        api.TessDeleteText(text);
+                    }
+
+                    float confidence = api.TessResultIteratorConfidence(iterator, level);
+
+                    IntBuffer left = IntBuffer.allocate(1);
+                    IntBuffer top = IntBuffer.allocate(1);
+                    IntBuffer right = IntBuffer.allocate(1);
+                    IntBuffer bottom = IntBuffer.allocate(1);
+                    api.TessPageIteratorBoundingBox(pageIterator, level, left, top, right, bottom);
+
+                    lines.add(new Word(lineText, confidence, new Rectangle(left.get(0), top.get(0),
+                            right.get(0) - left.get(0), bottom.get(0) - top.get(0))));
+                } while (api.TessPageIteratorNext(pageIterator, level) == ITessAPI.TRUE);
+            } finally {
+                api.TessResultIteratorDelete(iterator);
+            }
+
+            return lines;
+        } finally {
+            api.TessBaseAPIClear(handle);
+        }
+    }
+
+    @Override
+    public void close() {
+        api.TessBaseAPIEnd(handle);
+        api.TessBaseAPIDelete(handle);
+        log.debug("Closed Tesseract engine (language: {}, engine mode: {})", language, ocrEngineMode);
+    }
+
+    private void recognize(BufferedImage image, OcrOptions options) throws TesseractException {
+        applyOptions(options);
+        setImage(image);
+
+        if (api.TessBaseAPIRecognize(handle, null) != 0) {
+            throw new TesseractException("Tesseract recognition failed (language: " + language + ")");
+        }
+    }
+
+    /**
+     * 요청 옵션 적용 (이전 요청의 옵션이 남지 않도록 기본값으로 되돌린 뒤 적용)
+     */
+    private void applyOptions(OcrOptions options) {
+        api.TessBaseAPISetPageSegMode(handle, options.getPageSegMode() != null ?
+                options.getPageSegMode() : DEFAULT_PAGE_SEG_MODE);
+
+        setVariable("user_defined_dpi", options.getDpi() != null ? String.valueOf(options.getDpi()) : "0");
+        setVariable("preserve_interword_spaces", options.isPreserveInterwordSpaces() ? "1" : "0");
+        setVariable("tessedit_char_whitelist", options.getCharWhitelist() != null ? options.getCharWhitelist() : "");
+    }
+
+    private void setVariable(String name, String value) {
+        if (api.TessBaseAPISetVariable(handle, name, value) != ITessAPI.TRUE) {
+            log.warn("Failed to set Tesseract variable {}={}", name, value);
+        }
+    }
+
+    /**
+     * 8비트 그레이스케일로 변환해 전달 (행 사이 여백 없는 새 래스터를 사용)
+     */
+    private void setImage(BufferedImage image) {
+        BufferedImage gray = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g2d = gray.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+
+        byte[] pixels = ((DataBufferByte) gray.getRaster().getDataBuffer()).getData();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(pixels.length);
+        buffer.put(pixels).flip();
+
+        api.TessBaseAPISetImage(handle, buffer, gray.getWidth(), gray.getHeight(), 1, gray.getWidth());
+    }
+}
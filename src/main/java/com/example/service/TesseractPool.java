@@ -0,0 +1,231 @@
+package com.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import net.sourceforge.tess4j.TesseractException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 언어·엔진 모드별 TesseractEngine 풀
+ *
+ * 엔진은 생성 시 traineddata 를 한 번 로딩하고 계속 유지하므로, 풀에 남아 있는 엔진은 다음 요청에서
+ * 모델 로딩 없이 바로 인식한다. 엔진은 스레드 안전하지 않으므로 요청마다 빌려 쓰고 반납한다.
+ * 허용된 언어만 받아 요청 파라미터로 풀이 무한히 늘어나지 않도록 하고, 엔진마다 모델을 메모리에
+ * 유지하므로 전체 엔진 수도 제한한다 (한도에 도달하면 다른 언어·엔진 모드의 대기 중인 엔진을 해제).
+ * 초기화에 실패한 언어·엔진 모드는 기억해 두고 이후 요청에서 모델 로딩을 다시 시도하지 않는다.
+ */
+@Slf4j
+public class TesseractPool implements AutoCloseable {
+
+    /**
+     * 엔진 생성 (traineddata 로딩 실패 시 TesseractException)
+     */
+    @FunctionalInterface
+    public interface EngineFactory {
+        TesseractEngine create(String language, int ocrEngineMode) throws TesseractException;
+    }
+
+    private final EngineFactory factory;
+    private final Set<String> allowedLanguages;
+    private final int maxPerKey;
+    private final int maxTotal;
+    private final long borrowTimeoutMillis;
+
+    // 아래 상태는 모두 lock 으로 보호 (반납과 close 가 엇갈려 엔진이 해제되지 않고 남는 것 방지)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<String, Deque<TesseractEngine>> idle = new HashMap<>();
+    private final Map<String, Integer> created = new HashMap<>();
+    private final Map<String, TesseractException> failures = new HashMap<>();
+    private int total;
+    private boolean closed;
+
+    public TesseractPool(EngineFactory factory, Set<String> allowedLanguages, int maxPerKey, int maxTotal,
+                         long borrowTimeoutMillis) {
+        this.factory = factory;
+        this.allowedLanguages = Set.copyOf(allowedLanguages);
+        this.maxPerKey = maxPerKey;
+        this.maxTotal = maxTotal;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public boolean isAllowedLanguage(String language) {
+        return language != null && allowedLanguages.contains(language);
+    }
+
+    public Set<String> getAllowedLanguages() {
+        return allowedLanguages;
+    }
+
+    /**
+     * 해당 언어·엔진 모드의 엔진 대여 (여유가 없고 최대 개수에 도달했으면 반납될 때까지 대기)
+     */
+    public TesseractEngine borrow(String language, int ocrEngineMode) throws TesseractException {
+        if (!isAllowedLanguage(language)) {
+            throw new IllegalArgumentException("Unsupported OCR language: " + language);
+        }
+        if (ocrEngineMode < 0 || ocrEngineMode > 3) {
+            throw new IllegalArgumentException("Unsupported OCR engine mode: " + ocrEngineMode);
+        }
+
+        String key = key(language, ocrEngineMode);
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        TesseractEngine evicted = null;
+
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("Tesseract pool is closed");
+                }
+
+                TesseractException failure = failures.get(key);
+                if (failure != null) {
+                    throw new TesseractException("Tesseract engine for " + key + " failed to initialize: "
+                            + failure.getMessage(), failure);
+                }
+
+                Deque<TesseractEngine> queue = idle.get(key);
+                if (queue != null && !queue.isEmpty()) {
+                    return queue.pollFirst();
+                }
+
+                if (created.getOrDefault(key, 0) < maxPerKey) {
+                    if (total >= maxTotal) {
+                        evicted = evictIdle(key);
+                    }
+                    if (total < maxTotal) {
+                        created.merge(key, 1, Integer::sum);
+                        total++;
+                        break;
+                    }
+                }
+
+                if (remainingNanos <= 0) {
+                    throw new IllegalStateException("No Tesseract engine available for " + key
+                            + " within " + borrowTimeoutMillis + " ms");
+                }
+                try {
+                    remainingNanos = available.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for Tesseract engine", e);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 모델 해제·로딩은 오래 걸리므로 잠금 밖에서 수행 (자리는 위에서 미리 확보)
+        if (evicted != null) {
+            log.debug("Evicting idle Tesseract engine for {} to make room for {}",
+                    key(evicted.getLanguage(), evicted.getOcrEngineMode()), key);
+            evicted.close();
+        }
+
+        log.debug("Creating Tesseract engine for {}", key);
+        try {
+            return factory.create(language, ocrEngineMode);
+        } catch (TesseractException e) {
+            // traineddata 가 없거나 엔진 모드를 지원하지 않는 경우로, 다시 시도해도 실패하므로 기억해 둠
+            log.warn("Failed to create Tesseract engine for {}: {}", key, e.getMessage());
+            discard(key, e);
+            throw e;
+        } catch (RuntimeException e) {
+            discard(key, null);
+            throw e;
+        }
+    }
+
+    /**
+     * 엔진 반납 (풀이 닫힌 뒤 반납되면 바로 해제)
+     */
+    public void release(TesseractEngine engine) {
+        String key = key(engine.getLanguage(), engine.getOcrEngineMode());
+
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.computeIfAbsent(key, k -> new ArrayDeque<>()).offerLast(engine);
+                available.signalAll();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        discard(key, null);
+        engine.close();
+    }
+
+    /**
+     * 대기 중인 엔진 해제 (대여 중인 엔진은 반납될 때 해제)
+     */
+    @Override
+    public void close() {
+        List<TesseractEngine> engines = new ArrayList<>();
+
+        lock.lock();
+        try {
+            closed = true;
+            idle.values().forEach(queue -> {
+                engines.addAll(queue);
+                queue.clear();
+            });
+            engines.forEach(engine -> decrement(key(engine.getLanguage(), engine.getOcrEngineMode())));
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        engines.forEach(TesseractEngine::close);
+        log.info("Closed {} Tesseract engines", engines.size());
+    }
+
+    /**
+     * 다른 언어·엔진 모드의 대기 중인 엔진 하나를 풀에서 제거 (호출자가 잠금 밖에서 해제)
+     */
+    private TesseractEngine evictIdle(String requestedKey) {
+        for (Map.Entry<String, Deque<TesseractEngine>> entry : idle.entrySet()) {
+            if (!entry.getKey().equals(requestedKey) && !entry.getValue().isEmpty()) {
+                decrement(entry.getKey());
+                return entry.getValue().pollFirst();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 생성에 실패했거나 해제한 엔진의 자리를 돌려줌 (초기화 실패는 기록)
+     */
+    private void discard(String key, TesseractException failure) {
+        lock.lock();
+        try {
+            decrement(key);
+            if (failure != null) {
+                failures.put(key, failure);
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrement(String key) {
+        created.merge(key, -1, Integer::sum);
+        total--;
+    }
+
+    private static String key(String language, int ocrEngineMode) {
+        return language + "#oem" + ocrEngineMode;
+    }
+}
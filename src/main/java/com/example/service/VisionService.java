@@ -7,13 +7,19 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.model.Media;
 import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -21,6 +27,39 @@ import java.util.List;
 public class VisionService {
 
     private final OllamaChatModel chatModel;
+    private final ResultStore resultStore;
+
+    @Value("${spring.ai.ollama.chat.options.model:llava:7b}")
+    private String modelName;
+
+    @Value("${spring.ai.ollama.chat.options.temperature:0.8}")
+    private String temperature;
+
+    @Value("${spring.ai.ollama.chat.options.num-predict:-1}")
+    private String numPredict;
+
+    @Value("${spring.ai.ollama.chat.options.keep-alive:30m}")
+    private String keepAlive;
+
+    /**
+     * 모델 워밍업 (작은 이미지와 짧은 프롬프트로 Ollama에 모델을 미리 로딩)
+     */
+    public void warmUp() throws IOException {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream imageBytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", imageBytes);
+
+        Media imageMedia = new Media(MimeTypeUtils.IMAGE_PNG, new ByteArrayResource(imageBytes.toByteArray()));
+        UserMessage userMessage = new UserMessage("Reply with OK.", List.of(imageMedia));
+
+        // keep_alive 동안 모델이 메모리에 유지되도록 요청
+        OllamaOptions options = OllamaOptions.create()
+                .withKeepAlive(keepAlive)
+                .withNumPredict(1);
+
+        chatModel.call(new Prompt(List.of(userMessage), options));
+        log.debug("Vision model {} warmed up (keep_alive: {})", modelName, keepAlive);
+    }
 
     /**
      * 이미지 분석 및 설명 생성
@@ -33,16 +72,26 @@ public class VisionService {
         log.info("Starting image analysis for file: {} (size: {} bytes)",
                 imageFile.getOriginalFilename(), imageFile.getSize());
 
+        byte[] imageBytes = imageFile.getBytes();
+
+        // 프롬프트 생성
+        String promptText = createAnalysisPrompt();
+        String resultKey = ResultStore.contentKey("vision", imageBytes, modelFingerprint() + "\n" + promptText);
+
+        // 이전에 분석된 이미지는 저장된 결과 반환
+        Optional<String> storedAnalysis = resultStore.get(resultKey);
+        if (storedAnalysis.isPresent()) {
+            log.info("Image analysis served from result store for file: {}", imageFile.getOriginalFilename());
+            return storedAnalysis.get();
+        }
+
         try {
             // 이미지를 Media 객체로 변환
             Media imageMedia = new Media(
                     MimeTypeUtils.parseMimeType(imageFile.getContentType()),
-                    new ByteArrayResource(imageFile.getBytes())
+                    new ByteArrayResource(imageBytes)
             );
 
-            // 프롬프트 생성
-            String promptText = createAnalysisPrompt();
-
             UserMessage userMessage = new UserMessage(promptText, List.of(imageMedia));
             Prompt prompt = new Prompt(List.of(userMessage));
 
@@ -54,6 +103,8 @@ public class VisionService {
             log.info("Image analysis completed successfully. Response length: {} characters",
                     analysis.length());
 
+            resultStore.put(resultKey, analysis);
+
             return analysis;
 
         } catch (Exception e) {
@@ -62,6 +113,13 @@ public class VisionService {
         }
     }
 
+    /**
+     * 결과 저장소 키에 포함할 모델 설정
+     */
+    private String modelFingerprint() {
+        return String.format("model=%s;temperature=%s;numPredict=%s", modelName, temperature, numPredict);
+    }
+
     /**
      * 이미지 분석을 위한 프롬프트 생성
      */
@@ -91,15 +149,24 @@ public class VisionService {
         log.info("Starting targeted image analysis for file: {} with question: {}",
                 imageFile.getOriginalFilename(), question);
 
+        byte[] imageBytes = imageFile.getBytes();
+
+        String promptText = String.format(
+                "이 이미지를 보고 다음 질문에 답해주세요: %s\n\n상세하고 정확하게 한국어로 답변해주세요.",
+                question
+        );
+        String resultKey = ResultStore.contentKey("vision", imageBytes, modelFingerprint() + "\n" + promptText);
+
+        Optional<String> storedAnalysis = resultStore.get(resultKey);
+        if (storedAnalysis.isPresent()) {
+            log.info("Targeted image analysis served from result store for file: {}", imageFile.getOriginalFilename());
+            return storedAnalysis.get();
+        }
+
         try {
             Media imageMedia = new Media(
                     MimeTypeUtils.parseMimeType(imageFile.getContentType()),
-                    new ByteArrayResource(imageFile.getBytes())
-            );
-
-            String promptText = String.format(
-                    "이 이미지를 보고 다음 질문에 답해주세요: %s\n\n상세하고 정확하게 한국어로 답변해주세요.",
-                    question
+                    new ByteArrayResource(imageBytes)
             );
 
             UserMessage userMessage = new UserMessage(promptText, List.of(imageMedia));
@@ -110,6 +177,8 @@ public class VisionService {
 
             log.info("Targeted image analysis completed successfully");
 
+            resultStore.put(resultKey, analysis);
+
             return analysis;
 
         } catch (Exception e) {
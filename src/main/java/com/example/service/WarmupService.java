@@ -0,0 +1,217 @@
+package com.example.service;
+
+import com.example.dto.OcrOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 시작 시 워밍업
+ *
+ * ApplicationRunner는 readiness 상태가 ACCEPTING_TRAFFIC으로 바뀌기 전에 실행되므로,
+ * 워밍업이 끝날 때까지 /actuator/health/readiness 는 OUT_OF_SERVICE를 반환한다.
+ *
+ * Tesseract는 언어·엔진 모드별로 처음 사용할 때 traineddata 를 로딩해 엔진을 풀에 유지하므로,
+ * 설정된 언어마다 각 프리셋과 단계별 OCR의 빠른 모드로 합성 이미지를 한 번씩 인식해 엔진을 미리 만들어 둔다.
+ * 같은 언어·엔진 모드를 쓰는 프리셋은 같은 엔진을 재사용하므로 모델 로딩은 처음 한 번뿐이고,
+ * 이후 프리셋은 전처리 경로와 인식 설정만 미리 실행하는 효과가 있다.
+ * 엔진은 풀에 하나씩만 만들어지며, 동시 요청이 몰리면 추가 엔진은 그때 생성된다.
+ * Ollama는 작은 비전 프롬프트로 모델을 미리 로딩한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService implements ApplicationRunner {
+
+    private final OcrService ocrService;
+    private final VisionService visionService;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.ocr.presets:default,document,fast,high-accuracy}")
+    private String[] ocrPresets;
+
+    @Value("${warmup.ocr.languages:kor+eng,eng}")
+    private String[] ocrLanguages;
+
+    @Value("${warmup.vision.enabled:true}")
+    private boolean visionEnabled;
+
+    @Value("${warmup.vision.timeout-seconds:120}")
+    private long visionTimeoutSeconds;
+
+    @Value("${warmup.fail-on-error:false}")
+    private boolean failOnError;
+
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * 비전 워밍업 결과를 한 번만 기록 (타임아웃 이후 늦게 끝난 결과는 무시)
+     */
+    private final AtomicBoolean visionSettled = new AtomicBoolean();
+
+    private volatile boolean completed;
+    private volatile long totalMillis;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            log.info("Warm-up disabled");
+            completed = true;
+            return;
+        }
+
+        log.info("Starting warm-up (OCR presets: {}, languages: {}, vision: {})",
+                String.join(",", ocrPresets), String.join(",", ocrLanguages), visionEnabled);
+        long start = System.nanoTime();
+
+        // 비전 모델 로딩은 Ollama 쪽에서 진행되므로 OCR 워밍업과 동시에 수행
+        CompletableFuture<Void> visionWarmup = visionEnabled ?
+                CompletableFuture.runAsync(this::warmUpVision) :
+                CompletableFuture.completedFuture(null);
+
+        warmUpOcr();
+
+        try {
+            visionWarmup.get(visionTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // 취소해도 진행 중인 Ollama 요청은 끝까지 실행되므로, 먼저 결과를 확정해 늦은 결과가 덮어쓰지 않도록 함
+            if (visionSettled.compareAndSet(false, true)) {
+                failures.put("vision", "Timed out after " + visionTimeoutSeconds + "s");
+                log.warn("Vision warm-up did not finish within {} seconds", visionTimeoutSeconds);
+            }
+            visionWarmup.cancel(true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (visionSettled.compareAndSet(false, true)) {
+                failures.put("vision", "Interrupted");
+            }
+            visionWarmup.cancel(true);
+        } catch (ExecutionException e) {
+            if (visionSettled.compareAndSet(false, true)) {
+                failures.put("vision", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        }
+
+        totalMillis = elapsedMillis(start);
+        log.info("Warm-up finished in {} ms. Timings: {}", totalMillis, timings);
+
+        if (!failures.isEmpty()) {
+            log.warn("Warm-up failures: {}", failures);
+            if (failOnError) {
+                throw new IllegalStateException("Warm-up failed: " + failures);
+            }
+        }
+
+        completed = true;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public Map<String, Long> getTimings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    public Map<String, String> getFailures() {
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    private void warmUpOcr() {
+        BufferedImage image = createSyntheticTextImage();
+
+        // 언어별로 각 프리셋과 단계별 OCR 빠른 모드의 엔진을 미리 생성 (traineddata 로딩)
+        for (String language : nonBlank(ocrLanguages)) {
+            for (String preset : nonBlank(ocrPresets)) {
+                warmUpOcr("ocr." + preset + "." + language, image, () -> OcrOptions.preset(preset), language);
+            }
+            warmUpOcr("ocr.tiered-fast." + language, image, ocrService::fastPassOptions, language);
+        }
+    }
+
+    /**
+     * 옵션 조회(알 수 없는 프리셋 포함)부터 인식까지 실패하면 워밍업 실패로 기록
+     */
+    private void warmUpOcr(String name, BufferedImage image, Supplier<OcrOptions> optionsSupplier, String language) {
+        long start = System.nanoTime();
+        try {
+            OcrOptions options = optionsSupplier.get();
+            options.setLanguage(language);
+            ocrService.extractText(image, options);
+            timings.put(name, elapsedMillis(start));
+        } catch (Exception | LinkageError e) {
+            // 네이티브 라이브러리 로딩 실패(UnsatisfiedLinkError)도 워밍업 실패로 기록
+            failures.put(name, e.getMessage());
+            log.warn("OCR warm-up failed for {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void warmUpVision() {
+        long start = System.nanoTime();
+        try {
+            visionService.warmUp();
+            if (visionSettled.compareAndSet(false, true)) {
+                timings.put("vision", elapsedMillis(start));
+            } else {
+                log.info("Vision warm-up finished after timeout in {} ms (ignored)", elapsedMillis(start));
+            }
+        } catch (Exception e) {
+            if (visionSettled.compareAndSet(false, true)) {
+                failures.put("vision", e.getMessage());
+            }
+            log.warn("Vision warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 한글, 영문, 숫자가 섞인 합성 텍스트 이미지 생성
+     */
+    private BufferedImage createSyntheticTextImage() {
+        BufferedImage image = new BufferedImage(480, 96, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2d.setColor(Color.BLACK);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 32));
+        g2d.drawString("가나다 Warm-up 12345", 16, 60);
+        g2d.dispose();
+        return image;
+    }
+
+    private static List<String> nonBlank(String[] values) {
+        return Arrays.stream(values).map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -3,7 +3,7 @@ package com.example.aivisionservice;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "warmup.enabled=false")
 class AiVisionServiceApplicationTests {
 
     @Test
@@ -0,0 +1,302 @@
+package com.example.service;
+
+import com.example.dto.OcrOptions;
+import com.example.dto.OcrResult;
+import net.sourceforge.tess4j.TesseractException;
+import net.sourceforge.tess4j.Word;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 단계별 OCR의 승격 판단과 결과 저장 형식 검증 (Tesseract 대신 라인 목록을 직접 지정)
+ */
+class OcrServiceTieredTest {
+
+    private static final int WIDTH = 200;
+    private static final int LINE_HEIGHT = 20;
+
+    private final TesseractPool tesseractPool = mock(TesseractPool.class);
+    private final ResultStore resultStore = mock(ResultStore.class);
+    private final ScriptDetector scriptDetector = mock(ScriptDetector.class);
+
+    /**
+     * 옵션 프리셋별로 반환할 라인 목록 (fingerprint 로 구분)
+     */
+    private final Map<String, List<Word>> passes = new HashMap<>();
+
+    /**
+     * 인식 중 실패하도록 지정한 옵션 (fingerprint 로 구분)
+     */
+    private final Set<String> failingPasses = new HashSet<>();
+
+    private OcrService service;
+
+    @BeforeEach
+    void setUp() throws TesseractException {
+        service = spy(new OcrService(tesseractPool, scriptDetector, resultStore));
+        ReflectionTestUtils.setField(service, "defaultLanguage", "kor+eng");
+        ReflectionTestUtils.setField(service, "tieredConfidenceThreshold", 70f);
+        ReflectionTestUtils.setField(service, "regionEscalationEnabled", true);
+        ReflectionTestUtils.setField(service, "maxRegionRatio", 0.3);
+        ReflectionTestUtils.setField(service, "fastEngineMode", 1);
+
+        when(tesseractPool.isAllowedLanguage(anyString())).thenReturn(true);
+
+        doAnswer(invocation -> {
+            BufferedImage image = invocation.getArgument(0);
+            OcrOptions options = invocation.getArgument(1);
+            if (failingPasses.contains(options.fingerprint())) {
+                throw new TesseractException("Failed to initialize Tesseract");
+            }
+            List<Word> lines = passes.get(options.fingerprint());
+            if (lines == null) {
+                throw new AssertionError("Unexpected OCR pass: " + options);
+            }
+            return new OcrService.RecognitionPass(image, lines);
+        }).when(service).recognizeLines(any(), any(), anyString());
+    }
+
+    @Test
+    void confidentFastPassStopsAtFastTier() throws TesseractException {
+        givenPass(service.fastPassOptions(), 90, 85, 80);
+
+        OcrResult result = service.recognizeTiered(blankImage(3), "eng");
+
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.FAST);
+        assertThat(result.getText()).isEqualTo("line 0\nline 1\nline 2");
+        assertThat(result.getMeanConfidence()).isEqualTo(85f);
+    }
+
+    @Test
+    void fewLowConfidenceLinesAreRecognizedAgainAsRegions() throws TesseractException {
+        givenPass(service.fastPassOptions(), 80, 80, 80, 80, 10);
+        passes.put(OcrOptions.highAccuracyLineMode().fingerprint(),
+                List.of(new Word("refined", 95, new Rectangle(0, 0, WIDTH, LINE_HEIGHT))));
+
+        OcrResult result = service.recognizeTiered(blankImage(5), "eng");
+
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.FAST_WITH_REGIONS);
+        assertThat(result.getText()).endsWith("\nrefined");
+        assertThat(result.getMeanConfidence()).isEqualTo((4 * 80 + 95) / 5f);
+    }
+
+    @Test
+    void manyLowConfidenceLinesEscalateToDocumentMode() throws TesseractException {
+        givenPass(service.fastPassOptions(), 40, 40, 90);
+        givenPass(OcrOptions.documentMode(), 85, 85, 85);
+
+        OcrResult result = service.recognizeTiered(blankImage(3), "eng");
+
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.DOCUMENT);
+        assertThat(result.getMeanConfidence()).isEqualTo(85f);
+    }
+
+    @Test
+    void highAccuracyIsUsedOnlyWhenBetterThanDocumentMode() throws TesseractException {
+        givenPass(service.fastPassOptions(), 30, 30);
+        givenPass(OcrOptions.documentMode(), 50, 50);
+        givenPass(OcrOptions.highAccuracyMode(), 65, 65);
+
+        assertThat(service.recognizeTiered(blankImage(2), "eng").getTier())
+                .isEqualTo(OcrResult.Tier.HIGH_ACCURACY);
+
+        givenPass(OcrOptions.highAccuracyMode(), 45, 45);
+
+        OcrResult result = service.recognizeTiered(blankImage(2), "eng");
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.DOCUMENT);
+        assertThat(result.getMeanConfidence()).isEqualTo(50f);
+    }
+
+    @Test
+    void failedFastPassEscalatesToDocumentMode() throws TesseractException {
+        failingPasses.add(service.fastPassOptions().fingerprint());
+        givenPass(OcrOptions.documentMode(), 85, 85);
+
+        OcrResult result = service.recognizeTiered(blankImage(2), "eng");
+
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.DOCUMENT);
+        assertThat(result.getMeanConfidence()).isEqualTo(85f);
+    }
+
+    @Test
+    void failedRegionPassEscalatesToDocumentMode() throws TesseractException {
+        givenPass(service.fastPassOptions(), 80, 80, 80, 80, 10);
+        failingPasses.add(OcrOptions.highAccuracyLineMode().fingerprint());
+        givenPass(OcrOptions.documentMode(), 90, 90, 90, 90, 90);
+
+        assertThat(service.recognizeTiered(blankImage(5), "eng").getTier()).isEqualTo(OcrResult.Tier.DOCUMENT);
+    }
+
+    @Test
+    void failedHighAccuracyPassKeepsDocumentResult() throws TesseractException {
+        givenPass(service.fastPassOptions(), 30, 30);
+        givenPass(OcrOptions.documentMode(), 50, 50);
+        failingPasses.add(OcrOptions.highAccuracyMode().fingerprint());
+
+        OcrResult result = service.recognizeTiered(blankImage(2), "eng");
+
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.DOCUMENT);
+        assertThat(result.getMeanConfidence()).isEqualTo(50f);
+    }
+
+    @Test
+    void fastPassUsesConfiguredEngineMode() {
+        assertThat(service.fastPassOptions().getOcrEngineMode()).isEqualTo(1);
+
+        ReflectionTestUtils.setField(service, "fastEngineMode", 0);
+        assertThat(service.fastPassOptions().getOcrEngineMode()).isZero();
+    }
+
+    @Test
+    void meanConfidenceIsWeightedByWordCount() {
+        List<Word> lines = List.of(
+                new Word("one two three", 90, new Rectangle()),
+                new Word("four", 50, new Rectangle()),
+                new Word("   ", 0, new Rectangle()));
+
+        assertThat(service.meanConfidence(lines)).isEqualTo((3 * 90 + 50) / 4f);
+        assertThat(service.meanConfidence(List.of())).isZero();
+    }
+
+    @Test
+    void tieredResultSurvivesEncodeDecode() {
+        OcrResult result = OcrResult.builder()
+                .text("첫 줄\n\tsecond line")
+                .meanConfidence(72.5f)
+                .tier(OcrResult.Tier.FAST_WITH_REGIONS)
+                .build();
+
+        Optional<OcrResult> decoded = service.decodeTieredResult(service.encodeTieredResult(result));
+
+        assertThat(decoded).contains(result);
+    }
+
+    @Test
+    void malformedStoredResultIsIgnored() {
+        assertThat(service.decodeTieredResult("")).isEmpty();
+        assertThat(service.decodeTieredResult("plain text without header")).isEmpty();
+        assertThat(service.decodeTieredResult("UNKNOWN_TIER\t80.0\ntext")).isEmpty();
+        assertThat(service.decodeTieredResult("FAST\tnot-a-number\ntext")).isEmpty();
+        assertThat(service.decodeTieredResult("FAST\ntext")).isEmpty();
+    }
+
+    @Test
+    void malformedStoredResultIsRecognizedAgain() throws IOException, TesseractException {
+        when(resultStore.get(anyString())).thenReturn(Optional.of("corrupted"));
+        givenPass(service.fastPassOptions(), 90);
+
+        OcrResult result = service.extractTextTiered(imageFile(), "eng");
+
+        assertThat(result.getTier()).isEqualTo(OcrResult.Tier.FAST);
+        verify(resultStore).put(anyString(), anyString());
+    }
+
+    @Test
+    void storedResultIsServedWithoutDecodingOrDetection() throws IOException, TesseractException {
+        OcrResult stored = OcrResult.builder()
+                .text("stored")
+                .meanConfidence(90f)
+                .tier(OcrResult.Tier.FAST)
+                .build();
+        when(resultStore.get(anyString())).thenReturn(Optional.of(service.encodeTieredResult(stored)));
+        // 이미지로 읽을 수 없는 바이트여도 저장된 결과가 있으면 디코딩하지 않으므로 그대로 반환
+        MockMultipartFile file = new MockMultipartFile("image", "test.png", "image/png", new byte[]{1, 2, 3});
+
+        assertThat(service.extractTextTiered(file, "auto")).isEqualTo(stored);
+
+        when(resultStore.get(anyString())).thenReturn(Optional.of("stored text"));
+        assertThat(service.extractTextFromImage(file, OcrOptions.defaultOptions())).isEqualTo("stored text");
+
+        verify(scriptDetector, never()).detect(any());
+        verify(service, never()).recognizeTiered(any(), anyString());
+    }
+
+    @Test
+    void autoAndExplicitLanguagesUseDifferentKeys() throws IOException, TesseractException {
+        MockMultipartFile file = new MockMultipartFile("image", "test.png", "image/png", new byte[]{1, 2, 3});
+        List<String> keys = new ArrayList<>();
+        when(resultStore.get(anyString())).thenAnswer(invocation -> {
+            keys.add(invocation.getArgument(0));
+            return Optional.of("FAST\t90.0\nstored");
+        });
+
+        service.extractTextTiered(file, "auto");
+        service.extractTextTiered(file, "eng");
+        ReflectionTestUtils.setField(service, "defaultLanguage", "kor");
+        service.extractTextTiered(file, "auto");
+
+        assertThat(keys).doesNotHaveDuplicates().hasSize(3);
+    }
+
+    @Test
+    void emptyTieredResultIsNotStored() throws IOException, TesseractException {
+        passes.put(service.fastPassOptions().fingerprint(), List.of());
+        passes.put(OcrOptions.documentMode().fingerprint(), List.of());
+        passes.put(OcrOptions.highAccuracyMode().fingerprint(), List.of());
+
+        OcrResult result = service.extractTextTiered(imageFile(), "eng");
+
+        assertThat(result.getText()).isEmpty();
+        verify(resultStore, never()).put(anyString(), anyString());
+    }
+
+    @Test
+    void emptyTextResultIsNotStored() throws IOException, TesseractException {
+        TesseractEngine engine = mock(TesseractEngine.class);
+        when(engine.recognizeText(any(), any())).thenReturn("  \n");
+        when(tesseractPool.borrow(anyString(), anyInt())).thenReturn(engine);
+
+        String text = service.extractTextFromImage(imageFile(), OcrOptions.defaultOptions());
+
+        assertThat(text).isEmpty();
+        verify(tesseractPool).release(engine);
+        verify(resultStore, never()).put(anyString(), anyString());
+    }
+
+    /**
+     * 주어진 신뢰도를 가진 라인들로 해당 옵션의 인식 결과 지정
+     */
+    private void givenPass(OcrOptions options, float... confidences) {
+        List<Word> lines = new ArrayList<>();
+        for (int i = 0; i < confidences.length; i++) {
+            lines.add(new Word("line " + i, confidences[i], new Rectangle(0, i * LINE_HEIGHT, WIDTH, LINE_HEIGHT)));
+        }
+        passes.put(options.fingerprint(), lines);
+    }
+
+    private static BufferedImage blankImage(int lineCount) {
+        return new BufferedImage(WIDTH, Math.max(1, lineCount) * LINE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static MockMultipartFile imageFile() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(blankImage(3), "png", out);
+        return new MockMultipartFile("image", "test.png", "image/png", out.toByteArray());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ResultStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void putAndGetSurviveReopen() throws IOException {
+        store = openStore(16 * 1024 * 1024);
+        store.put("a", "첫 번째 결과");
+        store.put("b", "second");
+        store.put("a", "updated");
+
+        reopen(16 * 1024 * 1024);
+
+        assertThat(store.get("a")).contains("updated");
+        assertThat(store.get("b")).contains("second");
+        assertThat(store.get("missing")).isEmpty();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void truncatedTailIsDroppedOnRecovery() throws IOException {
+        store = openStore(16 * 1024 * 1024);
+        store.put("a", "complete");
+        store.put("b", "torn write");
+        store.close();
+
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        store = openStore(16 * 1024 * 1024);
+        assertThat(store.get("a")).contains("complete");
+        assertThat(store.get("b")).isEmpty();
+
+        // 잘린 꼬리가 제거되었으므로 이후 기록도 재시작 후 읽을 수 있어야 함
+        store.put("c", "after recovery");
+        reopen(16 * 1024 * 1024);
+
+        assertThat(store.get("a")).contains("complete");
+        assertThat(store.get("c")).contains("after recovery");
+    }
+
+    @Test
+    void rollsToNewSegmentAtMaxBytes() throws IOException {
+        store = openStore(128);
+        for (int i = 0; i < 10; i++) {
+            store.put("key-" + i, "value-" + i + "-".repeat(40));
+        }
+
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        reopen(128);
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.get("key-" + i)).contains("value-" + i + "-".repeat(40));
+        }
+    }
+
+    @Test
+    void compactionKeepsLatestValue() throws IOException {
+        store = openStore(128);
+        store.put("kept", "kept-value" + "-".repeat(60));
+        store.put("overwritten", "old" + "-".repeat(100));
+        store.put("overwritten", "new" + "-".repeat(60));
+        store.put("filler", "filler" + "-".repeat(60));
+
+        Path firstSegment = segmentFiles().get(0);
+        store.compact();
+
+        assertThat(firstSegment).doesNotExist();
+        assertThat(store.get("kept")).contains("kept-value" + "-".repeat(60));
+        assertThat(store.get("overwritten")).contains("new" + "-".repeat(60));
+
+        reopen(128);
+        assertThat(store.get("kept")).contains("kept-value" + "-".repeat(60));
+        assertThat(store.get("overwritten")).contains("new" + "-".repeat(60));
+        assertThat(store.get("filler")).contains("filler" + "-".repeat(60));
+    }
+
+    @Test
+    void disabledStoreIgnoresWrites() throws IOException {
+        store = new ResultStore();
+        ReflectionTestUtils.setField(store, "enabled", false);
+        store.open();
+
+        store.put("a", "value");
+
+        assertThat(store.get("a")).isEmpty();
+    }
+
+    private void reopen(long segmentMaxBytes) throws IOException {
+        store.close();
+        store = openStore(segmentMaxBytes);
+    }
+
+    private ResultStore openStore(long segmentMaxBytes) throws IOException {
+        ResultStore resultStore = new ResultStore();
+        ReflectionTestUtils.setField(resultStore, "enabled", true);
+        ReflectionTestUtils.setField(resultStore, "directory", directory.toString());
+        ReflectionTestUtils.setField(resultStore, "segmentMaxBytes", segmentMaxBytes);
+        ReflectionTestUtils.setField(resultStore, "compactionLiveRatioThreshold", 0.5);
+        resultStore.open();
+        return resultStore;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted((a, b) -> Long.compare(segmentId(a), segmentId(b))).toList();
+        }
+    }
+
+    private static long segmentId(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+    }
+}
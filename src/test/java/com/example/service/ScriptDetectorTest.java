@@ -0,0 +1,176 @@
+package com.example.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 실제 폰트로 렌더링한 문장의 문자 체계 판단 검증
+ *
+ * 라틴 문장은 JDK 기본 폰트(SansSerif, Serif)로 렌더링한다. 한글 문장은 src/test/resources/fonts/ 의
+ * OFL 한글 폰트 서브셋을 우선 사용하고, 없으면 설치된 한글 폰트(Noto Sans KR, 나눔고딕 등)를 사용한다.
+ * 한글 폰트가 없는 환경에서는 한글 테스트를 건너뛴다. 서브셋은 다음과 같이 만든다.
+ *
+ *   pyftsubset NotoSansKR-Regular.otf --text-file=hangul-samples.txt --output-file=hangul-subset.otf
+ */
+class ScriptDetectorTest {
+
+    private static final String[] KOREAN = {
+            "대한민국은 민주공화국이다. 모든 국민은 법 앞에 평등하다.",
+            "영수증 번호 및 결제 금액을 확인해 주시기 바랍니다.",
+            "오늘 날씨가 맑고 따뜻해서 공원에 사람이 많았습니다.",
+            "이미지에서 텍스트를 추출하는 서비스입니다.",
+            "가나다라마바사아자차카타파하 아이 거기 바다 나라 사이",
+    };
+
+    private static final String[] LATIN = {
+            "The quick brown fox jumps over the lazy dog: invoice #12345",
+            "Total amount = $1,234.56 (including tax) - paid in full.",
+            "Lorem ipsum dolor sit amet, consectetur adipiscing elit; jiggly",
+            "Receipt 2024-10-18 12:34 Qty 3 x 9.99 = 29.97 ijij iii jjj",
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZ abcdefghijklmnopqrstuvwxyz 0123456789 %/",
+    };
+
+    private static final String[] MIXED = {
+            "주문 번호 Order 12345 결제 완료 Payment OK",
+    };
+
+    private static final String HANGUL_SUBSET = "/fonts/hangul-subset.otf";
+
+    private static final List<String> HANGUL_FAMILIES = List.of(
+            "Noto Sans KR", "Noto Sans CJK KR", "NanumGothic", "Nanum Gothic", "Malgun Gothic", "Apple SD Gothic Neo");
+
+    private static Font hangulFont;
+
+    private ScriptDetector detector;
+
+    @BeforeAll
+    static void loadHangulFont() throws Exception {
+        try (InputStream in = ScriptDetectorTest.class.getResourceAsStream(HANGUL_SUBSET)) {
+            if (in != null) {
+                hangulFont = Font.createFont(Font.TRUETYPE_FONT, in);
+                return;
+            }
+        }
+
+        List<String> installed = Arrays.asList(
+                GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames());
+        hangulFont = HANGUL_FAMILIES.stream()
+                .filter(installed::contains)
+                .map(family -> new Font(family, Font.PLAIN, 12))
+                .filter(font -> canDisplay(font, KOREAN) && canDisplay(font, MIXED))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        detector = new ScriptDetector();
+        ReflectionTestUtils.setField(detector, "sampleSize", 2000);
+        ReflectionTestUtils.setField(detector, "minComponents", 20);
+        ReflectionTestUtils.setField(detector, "minGlyphHeight", 10);
+        ReflectionTestUtils.setField(detector, "latinMaxStackedRatio", 0.02);
+        ReflectionTestUtils.setField(detector, "latinMaxStackedGlyphs", 3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {16, 28, 40, 64})
+    void latinSansSerifTextIsLatin(int fontSize) {
+        assertThat(detector.detect(render(LATIN, new Font(Font.SANS_SERIF, Font.PLAIN, fontSize))))
+                .isEqualTo(ScriptDetector.Script.LATIN);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {16, 28, 40, 64})
+    void latinSerifTextIsLatin(int fontSize) {
+        assertThat(detector.detect(render(LATIN, new Font(Font.SERIF, Font.PLAIN, fontSize))))
+                .isEqualTo(ScriptDetector.Script.LATIN);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {28, 40, 64})
+    void koreanTextIsHangul(int fontSize) {
+        assertThat(detector.detect(render(KOREAN, hangulFont(fontSize)))).isEqualTo(ScriptDetector.Script.HANGUL);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {28, 40, 64})
+    void mixedTextIsNotLatin(int fontSize) {
+        assertThat(detector.detect(render(MIXED, hangulFont(fontSize)))).isEqualTo(ScriptDetector.Script.HANGUL);
+    }
+
+    @Test
+    void largeScanKeepsHangulSignalAfterDownsampling() {
+        // 7000px 너비 → sampleSize(2000)로 축소되어도 자모 간격이 유지되어야 함
+        BufferedImage image = render(KOREAN, hangulFont(180));
+        assertThat(image.getWidth()).isGreaterThan(2000);
+
+        assertThat(detector.detect(image)).isEqualTo(ScriptDetector.Script.HANGUL);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {8, 12})
+    void smallKoreanTextIsUnknownRatherThanLatin(int fontSize) {
+        // 자모 간격이 뭉개지는 크기에서는 판단을 보류 (라우팅 시 기본 언어 사용)
+        assertThat(detector.detect(render(KOREAN, hangulFont(fontSize)))).isEqualTo(ScriptDetector.Script.UNKNOWN);
+    }
+
+    @Test
+    void blankImageIsUnknown() {
+        BufferedImage image = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2d.dispose();
+
+        assertThat(detector.detect(image)).isEqualTo(ScriptDetector.Script.UNKNOWN);
+    }
+
+    private static Font hangulFont(int fontSize) {
+        assumeTrue(hangulFont != null, "No Hangul font available (add " + HANGUL_SUBSET + " or install Noto Sans KR)");
+        return hangulFont.deriveFont((float) fontSize);
+    }
+
+    private static boolean canDisplay(Font font, String[] lines) {
+        return Arrays.stream(lines).allMatch(line -> font.canDisplayUpTo(line) == -1);
+    }
+
+    /**
+     * 흰 배경에 검은 글자로 문장을 두 번씩 렌더링
+     */
+    private static BufferedImage render(String[] lines, Font font) {
+        int fontSize = font.getSize();
+        int lineHeight = fontSize * 8 / 5;
+        BufferedImage image = new BufferedImage(fontSize * 40, lineHeight * lines.length * 2 + 40,
+                BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g2d.setColor(Color.BLACK);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(font);
+
+        int y = lineHeight;
+        for (int repeat = 0; repeat < 2; repeat++) {
+            for (String line : lines) {
+                g2d.drawString(line, 20, y);
+                y += lineHeight;
+            }
+        }
+        g2d.dispose();
+        return image;
+    }
+}
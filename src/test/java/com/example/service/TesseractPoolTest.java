@@ -0,0 +1,182 @@
+package com.example.service;
+
+import net.sourceforge.tess4j.TesseractException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TesseractPoolTest {
+
+    private static final Set<String> ALLOWED = Set.of("kor+eng", "eng", "kor");
+
+    private final List<TesseractEngine> createdEngines = new CopyOnWriteArrayList<>();
+
+    @Test
+    void reusesReleasedEngine() throws TesseractException {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 10, 1000);
+
+        TesseractEngine first = pool.borrow("kor+eng", 1);
+        pool.release(first);
+        TesseractEngine second = pool.borrow("kor+eng", 1);
+
+        assertThat(second).isSameAs(first);
+        assertThat(createdEngines).hasSize(1);
+    }
+
+    @Test
+    void keepsSeparateEnginesPerLanguageAndEngineMode() throws TesseractException {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 10, 1000);
+
+        TesseractEngine korEng = pool.borrow("kor+eng", 1);
+        pool.release(korEng);
+        TesseractEngine eng = pool.borrow("eng", 1);
+        pool.release(eng);
+        TesseractEngine legacy = pool.borrow("kor+eng", 0);
+        pool.release(legacy);
+
+        assertThat(createdEngines).containsExactly(korEng, eng, legacy);
+        assertThat(pool.borrow("eng", 1)).isSameAs(eng);
+    }
+
+    @Test
+    void createsEnginesUpToLimitThenWaitsForRelease() throws Exception {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 10, 5000);
+
+        TesseractEngine first = pool.borrow("eng", 1);
+        TesseractEngine second = pool.borrow("eng", 1);
+        assertThat(second).isNotSameAs(first);
+
+        CompletableFuture<TesseractEngine> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow("eng", 1);
+            } catch (TesseractException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        pool.release(first);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        assertThat(createdEngines).hasSize(2);
+    }
+
+    @Test
+    void timesOutWhenAllEnginesAreBorrowed() throws TesseractException {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 1, 10, 50);
+        pool.borrow("kor", 1);
+
+        assertThatThrownBy(() -> pool.borrow("kor", 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No Tesseract engine available");
+        assertThat(createdEngines).hasSize(1);
+    }
+
+    @Test
+    void rejectsLanguagesOutsideAllowList() {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 10, 1000);
+
+        assertThatThrownBy(() -> pool.borrow("jpn", 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pool.borrow("../../tmp/evil", 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pool.borrow("eng", 7)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pool.isAllowedLanguage("jpn")).isFalse();
+        assertThat(createdEngines).isEmpty();
+    }
+
+    @Test
+    void failedCreationIsNotRetriedAndDoesNotUseUpCapacity() throws TesseractException {
+        TesseractException failure = new TesseractException("traineddata missing");
+        int[] legacyAttempts = {0};
+        TesseractPool pool = new TesseractPool((language, mode) -> {
+            if (mode == 0) {
+                legacyAttempts[0]++;
+                throw failure;
+            }
+            return createEngine(language, mode);
+        }, ALLOWED, 1, 1, 50);
+
+        assertThatThrownBy(() -> pool.borrow("eng", 0)).isSameAs(failure);
+        assertThatThrownBy(() -> pool.borrow("eng", 0))
+                .isInstanceOf(TesseractException.class)
+                .hasCause(failure);
+        assertThat(legacyAttempts[0]).isEqualTo(1);
+
+        assertThat(pool.borrow("eng", 1)).isNotNull();
+    }
+
+    @Test
+    void evictsIdleEngineOfOtherKeyWhenTotalLimitIsReached() throws TesseractException {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 2, 1000);
+        TesseractEngine korEng = pool.borrow("kor+eng", 1);
+        TesseractEngine eng = pool.borrow("eng", 1);
+        pool.release(korEng);
+
+        TesseractEngine kor = pool.borrow("kor", 1);
+
+        verify(korEng).close();
+        verify(eng, never()).close();
+        assertThat(createdEngines).containsExactly(korEng, eng, kor);
+    }
+
+    @Test
+    void waitsWhenTotalLimitIsReachedAndNothingIsIdle() throws Exception {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 2, 5000);
+        TesseractEngine korEng = pool.borrow("kor+eng", 1);
+        pool.borrow("eng", 1);
+
+        CompletableFuture<TesseractEngine> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow("kor", 1);
+            } catch (TesseractException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        // 반납된 엔진은 다른 언어의 대기 요청을 위해 해제되고 그 자리에 새 엔진 생성
+        pool.release(korEng);
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS).getLanguage()).isEqualTo("kor");
+        verify(korEng).close();
+        assertThat(createdEngines).hasSize(3);
+    }
+
+    @Test
+    void closeReleasesIdleAndLateReturnedEngines() throws TesseractException {
+        TesseractPool pool = new TesseractPool(this::createEngine, ALLOWED, 2, 10, 1000);
+        TesseractEngine idle = pool.borrow("eng", 1);
+        TesseractEngine borrowed = pool.borrow("eng", 1);
+        pool.release(idle);
+
+        pool.close();
+        verify(idle).close();
+        verify(borrowed, never()).close();
+
+        pool.release(borrowed);
+        verify(borrowed).close();
+        assertThatThrownBy(() -> pool.borrow("eng", 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private TesseractEngine createEngine(String language, int ocrEngineMode) {
+        TesseractEngine engine = mock(TesseractEngine.class);
+        when(engine.getLanguage()).thenReturn(language);
+        when(engine.getOcrEngineMode()).thenReturn(ocrEngineMode);
+        createdEngines.add(engine);
+        return engine;
+    }
+}
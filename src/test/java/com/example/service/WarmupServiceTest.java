@@ -0,0 +1,119 @@
+package com.example.service;
+
+import com.example.dto.OcrOptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WarmupServiceTest {
+
+    private final OcrService ocrService = mock(OcrService.class);
+    private final VisionService visionService = mock(VisionService.class);
+
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        warmupService = new WarmupService(ocrService, visionService);
+        ReflectionTestUtils.setField(warmupService, "enabled", true);
+        ReflectionTestUtils.setField(warmupService, "ocrPresets", new String[0]);
+        ReflectionTestUtils.setField(warmupService, "ocrLanguages", new String[0]);
+        ReflectionTestUtils.setField(warmupService, "visionEnabled", true);
+        ReflectionTestUtils.setField(warmupService, "visionTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(warmupService, "failOnError", false);
+    }
+
+    @Test
+    void visionResultArrivingAfterTimeoutIsIgnored() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            finished.countDown();
+            return null;
+        }).when(visionService).warmUp();
+
+        warmupService.run(null);
+
+        assertThat(warmupService.isCompleted()).isTrue();
+        assertThat(warmupService.getFailures()).containsEntry("vision", "Timed out after 1s");
+
+        // 타임아웃 이후 늦게 끝난 워밍업이 결과를 덮어쓰지 않아야 함
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        assertThat(warmupService.getTimings()).doesNotContainKey("vision");
+        assertThat(warmupService.getFailures()).containsEntry("vision", "Timed out after 1s");
+    }
+
+    @Test
+    void visionFailureIsRecorded() throws Exception {
+        doThrow(new IllegalStateException("model not found")).when(visionService).warmUp();
+
+        warmupService.run(null);
+
+        assertThat(warmupService.getFailures()).containsEntry("vision", "model not found");
+        assertThat(warmupService.getTimings()).doesNotContainKey("vision");
+    }
+
+    @Test
+    void visionSuccessIsTimed() throws Exception {
+        warmupService.run(null);
+
+        assertThat(warmupService.getTimings()).containsKey("vision");
+        assertThat(warmupService.getFailures()).isEmpty();
+    }
+
+    @Test
+    void everyPresetAndTieredFastPassIsWarmedUpPerLanguage() throws Exception {
+        ReflectionTestUtils.setField(warmupService, "ocrPresets", new String[]{"default", " fast "});
+        ReflectionTestUtils.setField(warmupService, "ocrLanguages", new String[]{"kor+eng", "eng"});
+        when(ocrService.fastPassOptions()).thenAnswer(invocation -> {
+            OcrOptions options = OcrOptions.fastMode();
+            options.setOcrEngineMode(0);
+            return options;
+        });
+
+        warmupService.run(null);
+
+        ArgumentCaptor<OcrOptions> options = ArgumentCaptor.forClass(OcrOptions.class);
+        verify(ocrService, times(6)).extractText(any(), options.capture());
+        assertThat(options.getAllValues())
+                .extracting(OcrOptions::getLanguage, OcrOptions::getOcrEngineMode)
+                .containsExactly(
+                        tuple("kor+eng", null), tuple("kor+eng", null), tuple("kor+eng", 0),
+                        tuple("eng", null), tuple("eng", null), tuple("eng", 0));
+        assertThat(warmupService.getTimings()).containsKeys("ocr.default.kor+eng", "ocr.fast.eng", "ocr.tiered-fast.eng");
+        assertThat(warmupService.getFailures()).isEmpty();
+    }
+
+    @Test
+    void unknownPresetIsRecordedAsFailureWithoutAbortingStartup() throws Exception {
+        ReflectionTestUtils.setField(warmupService, "ocrPresets", new String[]{"default", "", "unknown"});
+        ReflectionTestUtils.setField(warmupService, "ocrLanguages", new String[]{"eng"});
+        when(ocrService.fastPassOptions()).thenAnswer(invocation -> OcrOptions.fastMode());
+
+        warmupService.run(null);
+
+        assertThat(warmupService.isCompleted()).isTrue();
+        assertThat(warmupService.getFailures())
+                .containsOnlyKeys("ocr.unknown.eng")
+                .containsEntry("ocr.unknown.eng", "Unknown OCR preset: unknown");
+        assertThat(warmupService.getTimings()).containsKeys("ocr.default.eng", "ocr.tiered-fast.eng");
+    }
+}